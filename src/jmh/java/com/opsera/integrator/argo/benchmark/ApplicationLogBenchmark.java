@@ -0,0 +1,45 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opsera.integrator.argo.services.ArgoHelper;
+
+/**
+ * Reading of the console log lines from the argo log stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApplicationLogBenchmark {
+
+    @Param({ "1000", "20000" })
+    public int lineCount;
+
+    private ArgoHelper argoHelper;
+
+    private byte[] applicationLogBytes;
+
+    @Setup
+    public void setUp() {
+        argoHelper = new ArgoHelper();
+        applicationLogBytes = BenchmarkFixtures.applicationLog(lineCount).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void readApplicationLog(Blackhole blackhole) throws IOException {
+        argoHelper.readApplicationLog(new ByteArrayInputStream(applicationLogBytes), blackhole::consume);
+    }
+}
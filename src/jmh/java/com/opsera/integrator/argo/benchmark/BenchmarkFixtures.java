@@ -0,0 +1,138 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.opsera.integrator.argo.config.IServiceFactory;
+
+/**
+ * Builds the benchmark payloads from the recorded fixtures, sized like the
+ * responses of a large argo instance.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Reads a fixture from the classpath.
+     *
+     * @param name the fixture name
+     * @return the fixture content
+     */
+    static String read(String name) {
+        try (InputStream inputStream = BenchmarkFixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (null == inputStream) {
+                throw new IllegalArgumentException("Missing benchmark fixture " + name);
+            }
+            return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The response of the argo application list endpoint.
+     *
+     * @param applicationCount the number of applications
+     * @return the json
+     */
+    static String applicationsList(int applicationCount) {
+        JsonObject template = JsonParser.parseString(read("argo-application.json")).getAsJsonObject();
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < applicationCount; i++) {
+            JsonObject item = template.deepCopy();
+            JsonObject metadata = item.getAsJsonObject("metadata");
+            metadata.addProperty("name", "orders-api-" + i);
+            metadata.addProperty("uid", String.format("5b1e2f6c-2f0e-4c47-9f55-%012d", i));
+            items.add(item);
+        }
+        JsonObject list = new JsonObject();
+        JsonObject listMetadata = new JsonObject();
+        listMetadata.addProperty("resourceVersion", "48213377");
+        list.add("metadata", listMetadata);
+        list.add("items", items);
+        return list.toString();
+    }
+
+    /**
+     * The response of the argo resource tree endpoint.
+     *
+     * @param nodeCount the number of nodes
+     * @return the json
+     */
+    static String resourceTree(int nodeCount) {
+        JsonObject template = JsonParser.parseString(read("resource-tree-node.json")).getAsJsonObject();
+        JsonArray nodes = new JsonArray();
+        for (int i = 0; i < nodeCount; i++) {
+            JsonObject node = template.deepCopy();
+            node.addProperty("name", "orders-api-7c9d5b8f6d-" + i);
+            nodes.add(node);
+        }
+        JsonObject tree = new JsonObject();
+        tree.add("nodes", nodes);
+        return tree.toString();
+    }
+
+    /**
+     * The response of the argo log stream, one json document per line.
+     *
+     * @param lineCount the number of log lines
+     * @return the log stream
+     */
+    static String applicationLog(int lineCount) {
+        String entry = read("application-log-entry.json").trim();
+        StringBuilder sb = new StringBuilder(entry.length() * lineCount + lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            sb.append(entry).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A service factory that only serves the given gson and object mapper.
+     *
+     * @param gson         the gson
+     * @param objectMapper the object mapper
+     * @return the service factory
+     */
+    static IServiceFactory serviceFactory(Gson gson, ObjectMapper objectMapper) {
+        return (IServiceFactory) Proxy.newProxyInstance(IServiceFactory.class.getClassLoader(), new Class<?>[] { IServiceFactory.class }, (proxy, method, args) -> {
+            if ("gson".equals(method.getName())) {
+                return gson;
+            }
+            if ("getObjectMapper".equals(method.getName())) {
+                return objectMapper;
+            }
+            throw new UnsupportedOperationException(method.getName() + " is not available in benchmarks");
+        });
+    }
+
+    /**
+     * Sets an autowired field of the given bean.
+     *
+     * @param target    the bean
+     * @param fieldName the field name
+     * @param value     the value
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (null == field) {
+            throw new IllegalArgumentException("No field " + fieldName + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
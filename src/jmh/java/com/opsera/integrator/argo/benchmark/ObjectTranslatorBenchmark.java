@@ -0,0 +1,44 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.gson.Gson;
+import com.opsera.integrator.argo.resources.ArgoApplicationMetadataList;
+import com.opsera.integrator.argo.resources.ArgoApplicationsList;
+import com.opsera.integrator.argo.services.ObjectTranslator;
+
+/**
+ * Translation of the argo application list to the application metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectTranslatorBenchmark {
+
+    @Param({ "2000" })
+    public int applicationCount;
+
+    private ObjectTranslator objectTranslator;
+
+    private ArgoApplicationsList applicationsList;
+
+    @Setup
+    public void setUp() {
+        objectTranslator = new ObjectTranslator();
+        applicationsList = new Gson().fromJson(BenchmarkFixtures.applicationsList(applicationCount), ArgoApplicationsList.class);
+    }
+
+    @Benchmark
+    public ArgoApplicationMetadataList translateToArgoApplicationMetadataList() {
+        return objectTranslator.translateToArgoApplicationMetadataList(applicationsList);
+    }
+}
@@ -0,0 +1,50 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.gson.Gson;
+import com.opsera.integrator.argo.resources.OpseraPipelineMetadata;
+
+/**
+ * Serialization of the pipeline metadata sent to kafka, with and without a
+ * console log attached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineMetadataBenchmark {
+
+    @Param({ "0", "20000" })
+    public int consoleLogLines;
+
+    private Gson gson;
+
+    private OpseraPipelineMetadata pipelineMetadata;
+
+    @Setup
+    public void setUp() {
+        gson = new Gson();
+        pipelineMetadata = gson.fromJson(BenchmarkFixtures.read("pipeline-metadata.json"), OpseraPipelineMetadata.class);
+        if (consoleLogLines > 0) {
+            StringBuilder consoleLog = new StringBuilder();
+            for (int i = 0; i < consoleLogLines; i++) {
+                consoleLog.append("2021-10-02 11:13:02.417  INFO 1 --- [nio-8080-exec-4] c.o.c.orders.web.OrderController        : Accepted order ").append(i).append('\n');
+            }
+            pipelineMetadata.setConsoleLog(consoleLog.toString());
+        }
+    }
+
+    @Benchmark
+    public String toJson() {
+        return gson.toJson(pipelineMetadata);
+    }
+}
@@ -0,0 +1,92 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.opsera.integrator.argo.resources.ArgoProjectClusterResourceWhiteList;
+import com.opsera.integrator.argo.resources.ArgoProjectMetadata;
+import com.opsera.integrator.argo.resources.ArgoProjectNamespaceResourceBlacklist;
+import com.opsera.integrator.argo.resources.ArgoProjectNamespaceResourceWhitelist;
+import com.opsera.integrator.argo.resources.ArgoProjectSpec;
+import com.opsera.integrator.argo.resources.CreateProjectRequest;
+import com.opsera.integrator.argo.resources.Project;
+import com.opsera.integrator.argo.services.RequestBuilder;
+
+/**
+ * Building of the argo project request. createProjectRequest rewrites the
+ * resource lists of the request it is given, so every invocation gets a
+ * freshly built request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestBuilderBenchmark {
+
+    private static final String[] KINDS = { "Deployment", "StatefulSet", "Service", "ConfigMap", "Secret", "Ingress", "Rollout", "HorizontalPodAutoscaler" };
+
+    @Param({ "50" })
+    public int resourceCount;
+
+    private RequestBuilder requestBuilder;
+
+    private CreateProjectRequest request;
+
+    @Setup
+    public void setUp() {
+        requestBuilder = new RequestBuilder();
+    }
+
+    @Setup(Level.Invocation)
+    public void buildRequest() {
+        List<ArgoProjectClusterResourceWhiteList> clusterResources = new ArrayList<>();
+        List<ArgoProjectNamespaceResourceBlacklist> namespaceBlacklist = new ArrayList<>();
+        List<ArgoProjectNamespaceResourceWhitelist> namespaceWhitelist = new ArrayList<>();
+        for (int i = 0; i < resourceCount; i++) {
+            String group = i % 3 == 0 ? "" : "apps";
+            String kind = i % 5 == 0 ? "" : KINDS[i % KINDS.length];
+            ArgoProjectClusterResourceWhiteList clusterResource = new ArgoProjectClusterResourceWhiteList();
+            clusterResource.setGroup(group);
+            clusterResource.setKind(kind);
+            clusterResources.add(clusterResource);
+            ArgoProjectNamespaceResourceBlacklist blacklisted = new ArgoProjectNamespaceResourceBlacklist();
+            blacklisted.setGroup(group);
+            blacklisted.setKind(kind);
+            namespaceBlacklist.add(blacklisted);
+            ArgoProjectNamespaceResourceWhitelist whitelisted = new ArgoProjectNamespaceResourceWhitelist();
+            whitelisted.setGroup(group);
+            whitelisted.setKind(kind);
+            namespaceWhitelist.add(whitelisted);
+        }
+        ArgoProjectSpec spec = new ArgoProjectSpec();
+        spec.setDescription("commerce services");
+        spec.setClusterResourceWhitelist(clusterResources);
+        spec.setNamespaceResourceBlacklist(namespaceBlacklist);
+        spec.setNamespaceResourceWhitelist(namespaceWhitelist);
+        ArgoProjectMetadata metadata = new ArgoProjectMetadata();
+        metadata.setName("commerce");
+        Project project = new Project();
+        project.setMetadata(metadata);
+        project.setSpec(spec);
+        request = new CreateProjectRequest();
+        request.setToolId("6151d1f2a7e4b10012f3c9aa");
+        request.setCustomerId("5f8e2c1b9a3d470012e6b7a1");
+        request.setProject(project);
+    }
+
+    @Benchmark
+    public CreateProjectRequest createProjectRequest() {
+        requestBuilder.createProjectRequest(request);
+        return request;
+    }
+}
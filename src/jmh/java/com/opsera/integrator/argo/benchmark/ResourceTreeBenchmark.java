@@ -0,0 +1,46 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opsera.integrator.argo.resources.ResourceTree;
+
+/**
+ * Deserialization of the argo resource tree. The tree is read by the rest
+ * template, so this uses jackson configured like the spring boot message
+ * converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResourceTreeBenchmark {
+
+    @Param({ "5000" })
+    public int nodeCount;
+
+    private ObjectMapper objectMapper;
+
+    private String resourceTree;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        resourceTree = BenchmarkFixtures.resourceTree(nodeCount);
+    }
+
+    @Benchmark
+    public ResourceTree readResourceTree() throws IOException {
+        return objectMapper.readValue(resourceTree, ResourceTree.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.opsera.integrator.argo.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.opsera.integrator.argo.resources.ArgoApplicationMetadataList;
+import com.opsera.integrator.argo.resources.ArgoApplicationsList;
+import com.opsera.integrator.argo.services.ResponseParser;
+
+/**
+ * Deserialization of the argo application list, fully parsed and streamed
+ * down to the application metadata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResponseParserBenchmark {
+
+    @Param({ "2000" })
+    public int applicationCount;
+
+    private ResponseParser responseParser;
+
+    private String applicationsList;
+
+    private byte[] applicationsListBytes;
+
+    @Setup
+    public void setUp() {
+        responseParser = new ResponseParser();
+        BenchmarkFixtures.inject(responseParser, "serviceFactory", BenchmarkFixtures.serviceFactory(new Gson(), new ObjectMapper()));
+        applicationsList = BenchmarkFixtures.applicationsList(applicationCount);
+        applicationsListBytes = applicationsList.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ArgoApplicationsList extractArgoApplicationsList() {
+        return responseParser.extractArgoApplicationsList(applicationsList);
+    }
+
+    @Benchmark
+    public ArgoApplicationMetadataList extractArgoApplicationMetadataList() throws IOException {
+        return responseParser.extractArgoApplicationMetadataList(new ByteArrayInputStream(applicationsListBytes));
+    }
+}
@@ -1,21 +1,34 @@
 package com.opsera.integrator.argo.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ServiceLocatorFactoryBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Scope;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.util.StopWatch;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 
 @Configuration
 @Getter
 public class AppConfig {
 
+    private static final String ARGO_CLIENT_REQUESTS_METRIC = "argo.client.requests";
+
+    private static final String INTERNAL_CLIENT_REQUESTS_METRIC = "opsera.client.requests";
+
+    @Getter(AccessLevel.NONE)
+    private final EndpointTemplates endpointTemplates = EndpointTemplates.fromConstants();
+
     @Value("${pipeline.config.baseurl}")
     private String pipelineConfigBaseUrl;
 
@@ -53,7 +66,23 @@ public class AppConfig {
     }
 
     @Bean
-    public RestTemplate getRestTemplate() {
-        return new RestTemplate();
+    @Primary
+    public RestTemplate getRestTemplate(@Qualifier("internalRequestFactory") ClientHttpRequestFactory requestFactory, MeterRegistry meterRegistry) {
+        return instrumented(new RestTemplate(requestFactory), meterRegistry, INTERNAL_CLIENT_REQUESTS_METRIC);
+    }
+
+    @Bean
+    public RestTemplate argoRestTemplate(@Qualifier("argoRequestFactory") ClientHttpRequestFactory requestFactory, MeterRegistry meterRegistry) {
+        return instrumented(new RestTemplate(requestFactory), meterRegistry, ARGO_CLIENT_REQUESTS_METRIC);
+    }
+
+    @Bean
+    public RestTemplate argoStreamRestTemplate(@Qualifier("argoStreamRequestFactory") ClientHttpRequestFactory requestFactory, MeterRegistry meterRegistry) {
+        return instrumented(new RestTemplate(requestFactory), meterRegistry, ARGO_CLIENT_REQUESTS_METRIC);
+    }
+
+    private RestTemplate instrumented(RestTemplate restTemplate, MeterRegistry meterRegistry, String metricName) {
+        restTemplate.getInterceptors().add(new RequestMetricsInterceptor(meterRegistry, metricName, endpointTemplates));
+        return restTemplate;
     }
 }
@@ -0,0 +1,123 @@
+package com.opsera.integrator.argo.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.opsera.integrator.argo.resources.Constants;
+
+/**
+ * Maps request paths back to the endpoint templates of {@link Constants}, so
+ * the request metrics are tagged by endpoint instead of by the application,
+ * pod or tool ids in the path.
+ */
+final class EndpointTemplates {
+
+    /** The tag of the paths that match no template. */
+    static final String OTHER = "other";
+
+    private static final String TEMPLATE_VARIABLE = "%s";
+
+    private final List<Template> templates = new ArrayList<>();
+
+    private EndpointTemplates() {
+    }
+
+    /**
+     * Collects the path templates declared in {@link Constants}.
+     *
+     * @return the endpoint templates
+     */
+    static EndpointTemplates fromConstants() {
+        Map<String, Template> templatesByName = new LinkedHashMap<>();
+        for (Field field : Constants.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+                continue;
+            }
+            String value;
+            try {
+                value = (String) field.get(null);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+            String path = toPath(value);
+            if (null != path) {
+                templatesByName.putIfAbsent(path, new Template(path));
+            }
+        }
+        EndpointTemplates endpointTemplates = new EndpointTemplates();
+        endpointTemplates.templates.addAll(templatesByName.values());
+        endpointTemplates.templates.sort(Comparator.comparingInt((Template template) -> template.literalLength).reversed());
+        return endpointTemplates;
+    }
+
+    /**
+     * Resolves the template of the request path.
+     *
+     * @param path the request path
+     * @return the template, or {@link #OTHER}
+     */
+    String resolve(String path) {
+        if (null == path) {
+            return OTHER;
+        }
+        for (Template template : templates) {
+            if (template.pattern.matcher(path).matches()) {
+                return template.name;
+            }
+        }
+        return OTHER;
+    }
+
+    /**
+     * Strips the base url placeholder and the query of the constant.
+     *
+     * @param value the constant value
+     * @return the path template, or null if the constant is not one
+     */
+    private static String toPath(String value) {
+        String path = value.startsWith(TEMPLATE_VARIABLE) ? value.substring(TEMPLATE_VARIABLE.length()) : value;
+        int queryStart = path.indexOf('?');
+        if (queryStart >= 0) {
+            path = path.substring(0, queryStart);
+        }
+        return path.startsWith("/") && path.length() > 1 ? path : null;
+    }
+
+    /**
+     * A path template, matched against the end of the request path as the
+     * internal service base urls carry their own path.
+     */
+    private static final class Template {
+
+        private final String name;
+
+        private final Pattern pattern;
+
+        private final int literalLength;
+
+        private Template(String path) {
+            StringBuilder regex = new StringBuilder(".*");
+            int literalLength = 0;
+            String[] literals = path.split(Pattern.quote(TEMPLATE_VARIABLE), -1);
+            for (int i = 0; i < literals.length; i++) {
+                if (i > 0) {
+                    regex.append("[^/]+");
+                }
+                regex.append(Pattern.quote(literals[i]));
+                literalLength += literals[i].length();
+            }
+            if (path.endsWith("/")) {
+                regex.append("[^/]*");
+            }
+            this.name = path.replace(TEMPLATE_VARIABLE, "{}");
+            this.pattern = Pattern.compile(regex.toString());
+            this.literalLength = literalLength;
+        }
+    }
+}
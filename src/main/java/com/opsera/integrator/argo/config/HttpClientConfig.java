@@ -0,0 +1,142 @@
+package com.opsera.integrator.argo.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.HTTP;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Pooled http clients behind the rest templates. Argo servers and the
+ * internal opsera services get separate connection pools so that a slow argo
+ * server cannot starve the calls to vault and the pipeline service. The argo
+ * event streams get their own pool as they hold their connection open.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.connectTimeoutMillis}")
+    private int connectTimeoutMillis;
+
+    @Value("${http.client.connectionRequestTimeoutMillis}")
+    private int connectionRequestTimeoutMillis;
+
+    @Value("${http.client.keepAliveSeconds}")
+    private long keepAliveSeconds;
+
+    @Value("${http.client.idleEvictSeconds}")
+    private long idleEvictSeconds;
+
+    @Value("${http.client.argo.maxTotal}")
+    private int argoMaxTotal;
+
+    @Value("${http.client.argo.maxPerRoute}")
+    private int argoMaxPerRoute;
+
+    @Value("${http.client.argo.readTimeoutMillis}")
+    private int argoReadTimeoutMillis;
+
+    @Value("${http.client.internal.maxTotal}")
+    private int internalMaxTotal;
+
+    @Value("${http.client.internal.maxPerRoute}")
+    private int internalMaxPerRoute;
+
+    @Value("${http.client.internal.readTimeoutMillis}")
+    private int internalReadTimeoutMillis;
+
+    @Value("${http.client.argoStream.maxTotal}")
+    private int argoStreamMaxTotal;
+
+    @Value("${http.client.argoStream.maxPerRoute}")
+    private int argoStreamMaxPerRoute;
+
+    @Value("${http.client.argoStream.readTimeoutMillis}")
+    private int argoStreamReadTimeoutMillis;
+
+    @Bean
+    public PoolingHttpClientConnectionManager argoConnectionManager() {
+        return connectionManager(argoMaxTotal, argoMaxPerRoute);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager internalConnectionManager() {
+        return connectionManager(internalMaxTotal, internalMaxPerRoute);
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager argoStreamConnectionManager() {
+        return connectionManager(argoStreamMaxTotal, argoStreamMaxPerRoute);
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory argoRequestFactory(@Qualifier("argoConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return requestFactory(connectionManager, argoReadTimeoutMillis);
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory internalRequestFactory(@Qualifier("internalConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return requestFactory(connectionManager, internalReadTimeoutMillis);
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory argoStreamRequestFactory(@Qualifier("argoStreamConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return requestFactory(connectionManager, argoStreamReadTimeoutMillis);
+    }
+
+    private PoolingHttpClientConnectionManager connectionManager(int maxTotal, int maxPerRoute) {
+        Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create().register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSystemSocketFactory()).build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(registry);
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        return connectionManager;
+    }
+
+    private HttpComponentsClientHttpRequestFactory requestFactory(PoolingHttpClientConnectionManager connectionManager, int readTimeoutMillis) {
+        RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(connectTimeoutMillis).setConnectionRequestTimeout(connectionRequestTimeoutMillis)
+                .setSocketTimeout(readTimeoutMillis).build();
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create().useSystemProperties().setConnectionManager(connectionManager).setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy()).evictExpiredConnections().evictIdleConnections(idleEvictSeconds, TimeUnit.SECONDS);
+        return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
+    }
+
+    /**
+     * Keeps connections alive for the duration announced by the server, capped
+     * by the configured keep alive.
+     *
+     * @return the connection keep alive strategy
+     */
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        long defaultKeepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+        return (response, context) -> {
+            HeaderElementIterator iterator = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (iterator.hasNext()) {
+                HeaderElement element = iterator.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && null != element.getValue()) {
+                    try {
+                        return Math.min(TimeUnit.SECONDS.toMillis(Long.parseLong(element.getValue())), defaultKeepAliveMillis);
+                    } catch (NumberFormatException e) {
+                        break;
+                    }
+                }
+            }
+            return defaultKeepAliveMillis;
+        };
+    }
+}
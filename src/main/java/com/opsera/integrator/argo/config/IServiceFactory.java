@@ -6,16 +6,27 @@ import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
+import com.opsera.integrator.argo.services.ArgoApplicationStreamClient;
+import com.opsera.integrator.argo.services.ArgoBulkExecutor;
+import com.opsera.integrator.argo.services.ArgoMetrics;
 import com.opsera.integrator.argo.services.ArgoHelper;
 import com.opsera.integrator.argo.services.ArgoOrchestrator;
 import com.opsera.integrator.argo.services.ArgoOrchestratorV2;
+import com.opsera.integrator.argo.services.ArgoSessionTokenCache;
+import com.opsera.integrator.argo.services.ArgoSyncStatusWatcher;
 import com.opsera.integrator.argo.services.AwsServiceHelper;
+import com.opsera.integrator.argo.services.CloudCredentialCache;
 import com.opsera.integrator.argo.services.ConfigCollector;
 import com.opsera.integrator.argo.services.KafkaHelper;
+import com.opsera.integrator.argo.services.KubernetesClientPool;
+import com.opsera.integrator.argo.services.KubernetesResourceReconciler;
 import com.opsera.integrator.argo.services.ObjectTranslator;
 import com.opsera.integrator.argo.services.RequestBuilder;
 import com.opsera.integrator.argo.services.ResponseParser;
+import com.opsera.integrator.argo.services.RolloutInstallerQueue;
 import com.opsera.integrator.argo.services.VaultHelper;
+import com.opsera.integrator.argo.services.VaultReadBatcher;
+import com.opsera.integrator.argo.services.VaultSecretCache;
 
 @Component
 public interface IServiceFactory {
@@ -48,4 +59,26 @@ public interface IServiceFactory {
     
     public AwsServiceHelper getAwsServiceHelper();
 
+    public ArgoSessionTokenCache getArgoSessionTokenCache();
+
+    public ArgoSyncStatusWatcher getArgoSyncStatusWatcher();
+
+    public ArgoApplicationStreamClient getArgoApplicationStreamClient();
+
+    public VaultSecretCache getVaultSecretCache();
+
+    public VaultReadBatcher getVaultReadBatcher();
+
+    public ArgoBulkExecutor getArgoBulkExecutor();
+
+    public ArgoMetrics getArgoMetrics();
+
+    public KubernetesClientPool getKubernetesClientPool();
+
+    public KubernetesResourceReconciler getKubernetesResourceReconciler();
+
+    public CloudCredentialCache getCloudCredentialCache();
+
+    public RolloutInstallerQueue getRolloutInstallerQueue();
+
 }
@@ -5,42 +5,83 @@ import java.util.Map;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 
 /**
- * All configurations to interact with kafka server's producer reside here
+ * All configurations to interact with kafka server's producer reside here.
+ * Small status events and large console logs are sent through separate
+ * producers, each tuned by its own profile under kafka.producer.
  *
  */
 @EnableKafka
 @Configuration
 public class KafkaProducerConfig {
 
+    private static final String EVENTS_PROFILE = "events";
+
+    private static final String LOGS_PROFILE = "logs";
+
     @Value("${kafka.bootstrapServer}")
     private String kafkaServer;
 
+    @Autowired
+    private Environment environment;
+
     /**
-     * Create Kafka Producer factory to return kafka configuration
+     * Create Kafka Producer factory for the status events
      * 
      * @return
      */
     @Bean
+    @Primary
     public ProducerFactory<String, String> producerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaServer);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, 16 * 1024 * 1024);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return new DefaultKafkaProducerFactory<>(producerConfig(EVENTS_PROFILE));
     }
 
     @Bean
+    @Primary
     public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * Create Kafka Producer factory for the console and summary logs
+     * 
+     * @return
+     */
+    @Bean
+    public ProducerFactory<String, String> logProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfig(LOGS_PROFILE));
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> logKafkaTemplate() {
+        return new KafkaTemplate<>(logProducerFactory());
+    }
+
+    private Map<String, Object> producerConfig(String profile) {
+        String prefix = "kafka.producer." + profile + ".";
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaServer);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, environment.getRequiredProperty(prefix + "maxRequestSize", Integer.class));
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, environment.getRequiredProperty(prefix + "lingerMs", Integer.class));
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, environment.getRequiredProperty(prefix + "batchSize", Integer.class));
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, environment.getRequiredProperty(prefix + "bufferMemory", Long.class));
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, environment.getRequiredProperty(prefix + "compression"));
+        configProps.put(ProducerConfig.ACKS_CONFIG, environment.getRequiredProperty(prefix + "acks"));
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, environment.getRequiredProperty(prefix + "idempotence", Boolean.class));
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, environment.getRequiredProperty(prefix + "maxInFlightRequests", Integer.class));
+        return configProps;
+    }
 }
@@ -0,0 +1,25 @@
+package com.opsera.integrator.argo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.kafka.KafkaConsumerMetrics;
+
+/**
+ * Metrics that are not bound by the actuator auto configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Exposes the fetch metrics of the kafka consumers, including their
+     * records lag, read from the consumer mbeans.
+     *
+     * @return the kafka consumer metrics
+     */
+    @Bean
+    @SuppressWarnings("deprecation")
+    public KafkaConsumerMetrics kafkaConsumerMetrics() {
+        return new KafkaConsumerMetrics();
+    }
+}
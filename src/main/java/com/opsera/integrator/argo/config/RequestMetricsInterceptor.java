@@ -0,0 +1,47 @@
+package com.opsera.integrator.argo.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the outbound requests of a rest template, tagged by endpoint
+ * template, method, status and host. Streamed responses are timed until
+ * their headers arrive.
+ */
+class RequestMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String metricName;
+
+    private final EndpointTemplates endpointTemplates;
+
+    RequestMetricsInterceptor(MeterRegistry meterRegistry, String metricName, EndpointTemplates endpointTemplates) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+        this.endpointTemplates = endpointTemplates;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = IO_ERROR;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getRawStatusCode());
+            return response;
+        } finally {
+            sample.stop(Timer.builder(metricName).tag("uri", endpointTemplates.resolve(request.getURI().getPath())).tag("method", request.getMethodValue()).tag("status", status)
+                    .tag("host", String.valueOf(request.getURI().getHost())).register(meterRegistry));
+        }
+    }
+}
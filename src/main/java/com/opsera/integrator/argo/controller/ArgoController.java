@@ -1,13 +1,18 @@
 package com.opsera.integrator.argo.controller;
 
 import java.io.UnsupportedEncodingException;
+import java.util.Map;
+import java.util.TreeMap;
 
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StopWatch;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -28,12 +33,19 @@ import com.opsera.integrator.argo.resources.ArgoApplicationMetadataList;
 import com.opsera.integrator.argo.resources.ArgoApplicationOperation;
 import com.opsera.integrator.argo.resources.ArgoClusterList;
 import com.opsera.integrator.argo.resources.ArgoRepositoriesList;
+import com.opsera.integrator.argo.resources.BulkApplicationRequest;
+import com.opsera.integrator.argo.resources.BulkOperationResponse;
+import com.opsera.integrator.argo.resources.BulkProvisionRequest;
+import com.opsera.integrator.argo.resources.BulkProvisionResponse;
+import com.opsera.integrator.argo.resources.CacheStatistics;
 import com.opsera.integrator.argo.resources.CreateApplicationRequest;
 import com.opsera.integrator.argo.resources.CreateCluster;
 import com.opsera.integrator.argo.resources.CreateProjectRequest;
 import com.opsera.integrator.argo.resources.CreateRepositoryRequest;
+import com.opsera.integrator.argo.resources.HttpPoolStats;
 import com.opsera.integrator.argo.resources.OpseraPipelineMetadata;
 import com.opsera.integrator.argo.resources.Response;
+import com.opsera.integrator.argo.resources.RolloutInstallation;
 import com.opsera.integrator.argo.resources.ValidationResponse;
 
 import io.swagger.annotations.Api;
@@ -53,6 +65,10 @@ public class ArgoController {
     @Autowired
     private IServiceFactory serviceFactory;
 
+    /** The http connection pools by bean name. */
+    @Autowired
+    private Map<String, PoolingHttpClientConnectionManager> connectionManagers;
+
     /**
      * To check the service status.
      *
@@ -64,6 +80,63 @@ public class ArgoController {
         return "Spinnaker integrator service running";
     }
 
+    /**
+     * To get the usage of the http connection pools.
+     *
+     * @return the pool stats by pool name
+     */
+    @GetMapping(path = "v1.0/argo/http/pools")
+    @ApiOperation("To get the usage of the http connection pools")
+    public Map<String, HttpPoolStats> getHttpPoolStats() {
+        Map<String, HttpPoolStats> poolStats = new TreeMap<>();
+        connectionManagers.forEach((name, connectionManager) -> {
+            PoolStats totalStats = connectionManager.getTotalStats();
+            HttpPoolStats stats = new HttpPoolStats();
+            stats.setLeased(totalStats.getLeased());
+            stats.setPending(totalStats.getPending());
+            stats.setAvailable(totalStats.getAvailable());
+            stats.setMax(totalStats.getMax());
+            Map<String, Integer> leasedPerRoute = new TreeMap<>();
+            connectionManager.getRoutes().forEach(route -> leasedPerRoute.put(route.getTargetHost().toURI(), connectionManager.getStats(route).getLeased()));
+            stats.setLeasedPerRoute(leasedPerRoute);
+            poolStats.put(name, stats);
+        });
+        return poolStats;
+    }
+
+    /**
+     * To get the hit/miss statistics of the vault secret cache.
+     *
+     * @return the cache statistics
+     */
+    @GetMapping(path = "v1.0/argo/vault/cache/stats")
+    @ApiOperation("To get the hit/miss statistics of the vault secret cache")
+    public CacheStatistics getVaultCacheStatistics() {
+        return serviceFactory.getVaultSecretCache().getStatistics();
+    }
+
+    /**
+     * To evict secrets from the vault secret cache.
+     *
+     * @param customerId the customer id, all secrets are evicted when empty
+     * @param secretKey  the secret key, all secrets of the customer are
+     *                   evicted when empty
+     * @return the response entity
+     */
+    @DeleteMapping(path = "v1.0/argo/vault/cache")
+    @ApiOperation("To evict secrets from the vault secret cache")
+    public ResponseEntity<String> evictVaultCache(@RequestParam(required = false) String customerId, @RequestParam(required = false) String secretKey) {
+        LOGGER.info("Received evictVaultCache for customerId: {}", customerId);
+        if (StringUtils.isEmpty(customerId)) {
+            serviceFactory.getVaultSecretCache().evictAll();
+        } else if (StringUtils.isEmpty(secretKey)) {
+            serviceFactory.getVaultSecretCache().evictCustomer(customerId);
+        } else {
+            serviceFactory.getVaultSecretCache().evict(customerId, secretKey);
+        }
+        return new ResponseEntity<>("", HttpStatus.OK);
+    }
+
     /**
      * To get all the argo applications for the given argo domain.
      *
@@ -195,6 +268,42 @@ public class ArgoController {
         }
     }
 
+    /**
+     * To create or update argo applications in bulk.
+     *
+     * @param request the request
+     * @return the result of every application
+     */
+    @PostMapping(path = "v1.0/argo/applications/bulk")
+    @ApiOperation("To create or update argo applications in bulk")
+    public BulkOperationResponse createArgoApplications(@RequestBody BulkApplicationRequest request) {
+        Long startTime = System.currentTimeMillis();
+        try {
+            LOGGER.info("Received createArgoApplications for toolId: {}", request.getToolId());
+            return serviceFactory.getArgoOrchestrator().createApplications(request);
+        } finally {
+            LOGGER.info("Completed createArgoApplications, time taken to execute {} secs", System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * To create or update argo repositories and projects in bulk.
+     *
+     * @param request the request
+     * @return the result of every repository and project
+     */
+    @PostMapping(path = "v1.0/argo/provisioning/bulk")
+    @ApiOperation("To create or update argo repositories and projects in bulk")
+    public BulkProvisionResponse provisionArgoResources(@RequestBody BulkProvisionRequest request) {
+        Long startTime = System.currentTimeMillis();
+        try {
+            LOGGER.info("Received provisionArgoResources for toolId: {}", request.getToolId());
+            return serviceFactory.getArgoOrchestrator().provision(request);
+        } finally {
+            LOGGER.info("Completed provisionArgoResources, time taken to execute {} secs", System.currentTimeMillis() - startTime);
+        }
+    }
+
     /**
      * To validate the tools input.
      *
@@ -481,6 +590,26 @@ public class ArgoController {
         }
     }
 
+    /**
+     * To get the status and logs of the argo rollouts installation of a
+     * cluster.
+     *
+     * @param customerId     the customer id
+     * @param platformToolId the platform tool id
+     * @param clusterName    the cluster name
+     * @return the installation status
+     * @throws ResourcesNotAvailable when the cluster has no recent installation
+     */
+    @GetMapping(path = "v1.0/argo/rollouts/installation")
+    @ApiOperation("To get the status of the argo rollouts installation of a cluster")
+    public RolloutInstallation getRolloutInstallation(@RequestParam String customerId, @RequestParam String platformToolId, @RequestParam String clusterName) throws ResourcesNotAvailable {
+        RolloutInstallation installation = serviceFactory.getRolloutInstallerQueue().getInstallation(customerId, platformToolId, clusterName);
+        if (null == installation) {
+            throw new ResourcesNotAvailable(String.format("No argo rollouts installation found for cluster %s", clusterName));
+        }
+        return installation;
+    }
+
     @PostMapping(path = "v1.0/argo/application/approvalgate")
     @ApiOperation("To sync the argo application configured in Opsera pipeline")
     public String approvalOrRejectPromotion(@RequestBody ApprovalGateRequest request) {
@@ -4,38 +4,111 @@ package com.opsera.integrator.argo.listener;
 import static com.opsera.integrator.argo.resources.Constants.OPSERA_PIPELINE_ARGO_REQUEST;
 import static com.opsera.integrator.argo.resources.Constants.OPSERA_PIPELINE_ARGO_NOTIFICATION;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.task.TaskExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.resources.ConfigCacheEvictRequest;
+import com.opsera.integrator.argo.resources.OpseraPipelineMetadata;
 
 @Component
 public class ArgoActionListener {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(ArgoActionListener.class);
 
+    private static final String ARGO_REQUEST_LISTENER_ID = "argoDeploymentRequestListener";
+
+    private static final String ARGO_NOTIFICATION_LISTENER_ID = "argoNotificationListener";
+
     @Autowired
     private IServiceFactory serviceFactory;
 
     @Autowired
-    private TaskExecutor taskExecutor;
+    private ArgoRequestLaneDispatcher argoRequestLaneDispatcher;
+
+    @Autowired
+    private TaskExecutorBackpressure taskExecutorBackpressure;
+
+    @Value("${kafka.consumer.backpressure.redeliveryDelayMillis}")
+    private long redeliveryDelayMillis;
 
-    @KafkaListener(topics = { OPSERA_PIPELINE_ARGO_REQUEST }, containerFactory = "kafkaListenerContainerFactory")
-    public void consumeArgoDeploymentRequest(@Payload String message) {
-        LOGGER.info("Message Received from Kafka topic OPSERA_PIPELINE_ARGO_REQUEST : {}", message);
-        ArgoDeploymentTask runnable = new ArgoDeploymentTask(message, serviceFactory);
-        taskExecutor.execute(runnable);
+    @Autowired
+    private OrderedBatchAcknowledger deploymentRequestAcks;
+
+    /**
+     * Consumes the deployment requests in batches and queues them on the lane
+     * of their pipeline step, so the requests of a step run in order. The batch
+     * is acknowledged once all its requests are processed.
+     */
+    @KafkaListener(id = ARGO_REQUEST_LISTENER_ID, idIsGroup = false, topics = { OPSERA_PIPELINE_ARGO_REQUEST }, containerFactory = "kafkaBatchListenerContainerFactory")
+    public void consumeArgoDeploymentRequests(@Payload List<String> messages, Acknowledgment acknowledgment) {
+        LOGGER.info("{} messages received from Kafka topic OPSERA_PIPELINE_ARGO_REQUEST", messages.size());
+        OrderedBatchAcknowledger.Batch batch = deploymentRequestAcks.begin(acknowledgment, messages.size());
+        for (String message : messages) {
+            LOGGER.info("Message Received from Kafka topic OPSERA_PIPELINE_ARGO_REQUEST : {}", message);
+            OpseraPipelineMetadata pipelineMetadata;
+            try {
+                pipelineMetadata = serviceFactory.getObjectMapper().readValue(message, OpseraPipelineMetadata.class);
+            } catch (Exception ex) {
+                LOGGER.error("Error while processing Kafka request for Argo application sync", ex);
+                batch.recordDone();
+                continue;
+            }
+            ArgoDeploymentTask runnable = new ArgoDeploymentTask(pipelineMetadata, serviceFactory);
+            argoRequestLaneDispatcher.dispatch(ARGO_REQUEST_LISTENER_ID, pipelineMetadata.getPipelineId() + "/" + pipelineMetadata.getStepId(), () -> {
+                try {
+                    runnable.run();
+                } finally {
+                    batch.recordDone();
+                }
+            });
+        }
     }
-    
-    @KafkaListener(topics = { OPSERA_PIPELINE_ARGO_NOTIFICATION }, containerFactory = "kafkaListenerContainerFactory")
-    public void consumeArgoNotificationResponse(@Payload String message) {
+
+    /**
+     * Consumes the approval gate notifications. The record is acknowledged once
+     * the task executor accepted it, a rejected record is redelivered after a
+     * short pause.
+     */
+    @KafkaListener(id = ARGO_NOTIFICATION_LISTENER_ID, idIsGroup = false, topics = { OPSERA_PIPELINE_ARGO_NOTIFICATION }, containerFactory = "kafkaManualAckListenerContainerFactory")
+    public void consumeArgoNotificationResponse(@Payload String message, Acknowledgment acknowledgment) {
         LOGGER.info("Message Received from Kafka topic OPSERA_PIPELINE_ARGO_NOTIFICATION : {}", message);
         ArgoNotificationTask runnable = new ArgoNotificationTask(message, serviceFactory);
-        taskExecutor.execute(runnable);
+        try {
+            taskExecutorBackpressure.execute(ARGO_NOTIFICATION_LISTENER_ID, runnable);
+            acknowledgment.acknowledge();
+        } catch (TaskRejectedException ex) {
+            LOGGER.warn("Task executor is full, redelivering the message from OPSERA_PIPELINE_ARGO_NOTIFICATION in {} ms", redeliveryDelayMillis);
+            acknowledgment.nack(redeliveryDelayMillis);
+        }
+    }
+
+    /**
+     * Drops the cached tool details and configs when a tool or pipeline is
+     * updated. Every instance consumes with a group of its own, named after
+     * the host, so that all of them receive the update and a restarted
+     * instance rejoins its group instead of leaving an orphaned one behind.
+     * Only updates sent after the group first joined matter, older ones are
+     * skipped.
+     */
+    @KafkaListener(topics = { "${config.cache.evictTopic}" }, groupId = "${config.cache.evictGroupId}", containerFactory = "kafkaListenerContainerFactory",
+            properties = { "auto.offset.reset=latest" })
+    public void consumeConfigCacheEvictRequest(@Payload String message) {
+        LOGGER.info("Message Received from config cache evict topic : {}", message);
+        try {
+            ConfigCacheEvictRequest request = serviceFactory.getObjectMapper().readValue(message, ConfigCacheEvictRequest.class);
+            serviceFactory.getConfigCollector().evictCachedConfigs(request.getToolId(), request.getCustomerId(), request.getPipelineId());
+        } catch (Exception ex) {
+            LOGGER.error("Error while processing config cache evict request", ex);
+        }
     }
 }
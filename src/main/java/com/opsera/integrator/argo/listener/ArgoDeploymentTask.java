@@ -11,19 +11,18 @@ public class ArgoDeploymentTask implements Runnable {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(ArgoDeploymentTask.class);
 
-    private String message;
+    private OpseraPipelineMetadata pipelineMetadata;
 
     private IServiceFactory serviceFactory;
 
-    public ArgoDeploymentTask(String message, IServiceFactory serviceFactory) {
-        this.message = message;
+    public ArgoDeploymentTask(OpseraPipelineMetadata pipelineMetadata, IServiceFactory serviceFactory) {
+        this.pipelineMetadata = pipelineMetadata;
         this.serviceFactory = serviceFactory;
     }
 
     @Override
     public void run() {
         try {
-            OpseraPipelineMetadata pipelineMetadata = serviceFactory.getObjectMapper().readValue(message, OpseraPipelineMetadata.class);
             long threadId = Thread.currentThread().getId();
             String threadName = Thread.currentThread().getName();
             LOGGER.info("Starting Invoke Argo Executor @ threadId: {} , threadName: {}", threadId, threadName);
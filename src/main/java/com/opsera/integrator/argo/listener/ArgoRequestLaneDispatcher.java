@@ -0,0 +1,135 @@
+package com.opsera.integrator.argo.listener;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.opsera.integrator.argo.config.IServiceFactory;
+
+/**
+ * Runs the consumed requests on a fixed set of single threaded lanes. The
+ * requests of the same key always go to the same lane, so they run in the
+ * order they were consumed while requests of other keys run in parallel.
+ * Nothing is rejected: once too many requests are in flight the listener is
+ * paused until the lanes have caught up.
+ */
+@Component
+public class ArgoRequestLaneDispatcher {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(ArgoRequestLaneDispatcher.class);
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The number of lanes. */
+    @Value("${kafka.consumer.lanes.count}")
+    private int laneCount;
+
+    /** The number of in-flight requests that pauses the listener. */
+    @Value("${kafka.consumer.lanes.maxInFlight}")
+    private int maxInFlight;
+
+    /** The number of in-flight requests that resumes the listener. */
+    @Value("${kafka.consumer.lanes.resumeInFlight}")
+    private int resumeInFlight;
+
+    /** How long the shutdown waits for the queued requests. */
+    @Value("${kafka.consumer.lanes.shutdownAwaitSeconds}")
+    private long shutdownAwaitSeconds;
+
+    /** The lanes. */
+    private ThreadPoolExecutor[] lanes;
+
+    /** The queued and running requests. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Inits the lanes.
+     */
+    @PostConstruct
+    public void init() {
+        lanes = new ThreadPoolExecutor[laneCount];
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ArgoRequestLane-");
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        }
+        serviceFactory.getArgoMetrics().gauge("argo.request.lanes.inflight", inFlight, AtomicInteger::get);
+    }
+
+    /**
+     * Queues the request on the lane of its key.
+     *
+     * @param listenerId the id of the listener the request was consumed by
+     * @param key        the ordering key
+     * @param task       the task
+     */
+    public void dispatch(String listenerId, String key, Runnable task) {
+        ThreadPoolExecutor lane = lanes[Math.floorMod(null == key ? 0 : key.hashCode(), lanes.length)];
+        if (inFlight.incrementAndGet() >= maxInFlight) {
+            pause(listenerId);
+        }
+        lane.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                if (inFlight.decrementAndGet() <= resumeInFlight) {
+                    resume(listenerId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the number of queued and running requests.
+     *
+     * @return the in flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    private synchronized void pause(String listenerId) {
+        if (inFlight.get() >= maxInFlight) {
+            LOGGER.debug("{} argo requests in flight", inFlight.get());
+            serviceFactory.getKafkaHelper().pauseListener(listenerId);
+        }
+    }
+
+    private synchronized void resume(String listenerId) {
+        if (inFlight.get() <= resumeInFlight) {
+            serviceFactory.getKafkaHelper().resumeListener(listenerId);
+        }
+    }
+
+    /**
+     * Lets the lanes finish the queued requests before stopping them.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(shutdownAwaitSeconds);
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                LOGGER.warn("Argo request lanes did not finish in time, {} requests in flight", inFlight.get());
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.opsera.integrator.argo.listener;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acknowledges the batches of a batch listener once all their records are
+ * processed. The records complete out of order across the lanes, so a batch
+ * is only acknowledged after all the batches polled before it, which keeps
+ * the committed offset from passing a record that is still in flight. The
+ * pending batches of a consumer are dropped when its partitions are revoked,
+ * their records are redelivered to the new owner of the partitions.
+ */
+@Component
+public class OrderedBatchAcknowledger implements ConsumerAwareRebalanceListener {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(OrderedBatchAcknowledger.class);
+
+    /** How long a batch may hold back the acknowledgments before it is reported. */
+    @Value("${kafka.consumer.batch.stuckWarnSeconds}")
+    private long stuckWarnSeconds;
+
+    /** The pending batches of each consumer thread, in poll order. */
+    private final ThreadLocal<Deque<Batch>> pendingBatches = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Starts tracking a polled batch. Must be called on the consumer thread.
+     *
+     * @param acknowledgment the acknowledgment of the batch
+     * @param size           the number of records to wait for
+     * @return the batch
+     */
+    Batch begin(Acknowledgment acknowledgment, int size) {
+        Batch batch = new Batch(pendingBatches.get(), acknowledgment, size);
+        synchronized (batch.queue) {
+            warnIfStuck(batch.queue);
+            batch.queue.addLast(batch);
+        }
+        if (size == 0) {
+            batch.complete();
+        }
+        return batch;
+    }
+
+    /**
+     * Drops the pending batches of the consumer before the revoked partitions
+     * are committed, a batch completing afterwards no longer acknowledges.
+     */
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Deque<Batch> queue = pendingBatches.get();
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                LOGGER.warn("Partitions {} revoked with {} batches pending, their records will be redelivered", partitions, queue.size());
+            }
+            queue.forEach(batch -> batch.dropped = true);
+            queue.clear();
+        }
+    }
+
+    private void warnIfStuck(Deque<Batch> queue) {
+        Batch oldest = queue.peekFirst();
+        if (null != oldest && !oldest.reported && System.nanoTime() - oldest.polledAt > TimeUnit.SECONDS.toNanos(stuckWarnSeconds)) {
+            oldest.reported = true;
+            LOGGER.warn("A batch polled more than {} seconds ago still has {} records in flight, {} batches wait for its acknowledgment", stuckWarnSeconds,
+                    oldest.remaining.get(), queue.size());
+        }
+    }
+
+    /**
+     * A polled batch.
+     */
+    static final class Batch {
+
+        private final Deque<Batch> queue;
+
+        private final Acknowledgment acknowledgment;
+
+        private final AtomicInteger remaining;
+
+        private final long polledAt = System.nanoTime();
+
+        private boolean completed;
+
+        private boolean dropped;
+
+        private boolean reported;
+
+        private Batch(Deque<Batch> queue, Acknowledgment acknowledgment, int size) {
+            this.queue = queue;
+            this.acknowledgment = acknowledgment;
+            this.remaining = new AtomicInteger(size);
+        }
+
+        /**
+         * Marks one record of the batch as processed.
+         */
+        void recordDone() {
+            if (remaining.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            synchronized (queue) {
+                completed = true;
+                if (dropped) {
+                    return;
+                }
+                while (!queue.isEmpty() && queue.peekFirst().completed) {
+                    queue.pollFirst().acknowledgment.acknowledge();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.opsera.integrator.argo.listener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.opsera.integrator.argo.config.IServiceFactory;
+
+/**
+ * Hands the consumed records to the task executor and pauses the listener
+ * while the executor is close to full, so records wait in kafka instead of
+ * being rejected. A paused listener is resumed by its own completing tasks
+ * once the executor has drained.
+ */
+@Component
+public class TaskExecutorBackpressure {
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The task executor. */
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    /** The accepted and not yet completed tasks of each listener. */
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    /** The executor utilization that pauses the listeners. */
+    @Value("${kafka.consumer.backpressure.pauseUtilization}")
+    private double pauseUtilization;
+
+    /** The executor utilization that resumes the listeners. */
+    @Value("${kafka.consumer.backpressure.resumeUtilization}")
+    private double resumeUtilization;
+
+    /**
+     * Runs the task on the task executor on behalf of the given listener.
+     *
+     * @param listenerId the listener id
+     * @param task       the task
+     * @throws TaskRejectedException if the executor is full
+     */
+    public void execute(String listenerId, Runnable task) {
+        AtomicInteger listenerInFlight = inFlight.computeIfAbsent(listenerId, id -> new AtomicInteger());
+        listenerInFlight.incrementAndGet();
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    listenerInFlight.decrementAndGet();
+                    resumeIfDrained(listenerId, listenerInFlight);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            listenerInFlight.decrementAndGet();
+            throw e;
+        }
+        pauseIfSaturated(listenerId, listenerInFlight);
+    }
+
+    /**
+     * Pauses the listener while the executor is saturated. A listener without
+     * tasks in flight is never paused, as nothing would resume it.
+     */
+    private synchronized void pauseIfSaturated(String listenerId, AtomicInteger listenerInFlight) {
+        if (listenerInFlight.get() > 0 && getUtilization() >= pauseUtilization) {
+            serviceFactory.getKafkaHelper().pauseListener(listenerId);
+        }
+    }
+
+    private synchronized void resumeIfDrained(String listenerId, AtomicInteger listenerInFlight) {
+        if (listenerInFlight.get() == 0 || getUtilization() <= resumeUtilization) {
+            serviceFactory.getKafkaHelper().resumeListener(listenerId);
+        }
+    }
+
+    /**
+     * Gets the share of the executor threads and queue slots in use.
+     *
+     * @return the utilization, between 0 and 1
+     */
+    public double getUtilization() {
+        if (!(taskExecutor instanceof ThreadPoolTaskExecutor)) {
+            return 0;
+        }
+        ThreadPoolExecutor executor = ((ThreadPoolTaskExecutor) taskExecutor).getThreadPoolExecutor();
+        int capacity = executor.getMaximumPoolSize() + executor.getQueue().size() + executor.getQueue().remainingCapacity();
+        return capacity <= 0 ? 0 : (double) (executor.getActiveCount() + executor.getQueue().size()) / capacity;
+    }
+}
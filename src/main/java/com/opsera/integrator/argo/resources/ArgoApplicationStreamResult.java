@@ -0,0 +1,13 @@
+package com.opsera.integrator.argo.resources;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+public class ArgoApplicationStreamResult {
+
+    private ArgoApplicationWatchEvent result;
+
+}
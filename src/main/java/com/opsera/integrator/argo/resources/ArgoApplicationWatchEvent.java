@@ -0,0 +1,15 @@
+package com.opsera.integrator.argo.resources;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+public class ArgoApplicationWatchEvent {
+
+    private String type;
+
+    private ArgoApplicationItem application;
+
+}
@@ -0,0 +1,57 @@
+package com.opsera.integrator.argo.resources;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Poll state of an argo sync that is being watched until it completes.
+ */
+@Getter
+@Setter
+@Builder
+public class ArgoSyncWatchState {
+
+    private OpseraPipelineMetadata pipelineMetadata;
+
+    private ArgoApplicationItem applicationItem;
+
+    private ArgoToolDetails argoToolDetails;
+
+    private ToolConfig argoToolConfig;
+
+    private String argoPassword;
+
+    private int retryCount;
+
+    /** The startedAt of the operation state returned by the sync request. */
+    private String syncStartedAt;
+
+    /** The {@link System#nanoTime()} the watch started at. */
+    private long watchStartedAt;
+
+    /** The latest application state received from the event stream. */
+    private volatile ArgoApplicationItem streamedItem;
+
+    /** When the latest application state was received from the event stream. */
+    private volatile long streamedAt;
+
+    @Builder.Default
+    private AtomicBoolean completed = new AtomicBoolean();
+
+    /**
+     * Marks the sync as completed.
+     *
+     * @return true if the sync was not completed before
+     */
+    public boolean markCompleted() {
+        return completed.compareAndSet(false, true);
+    }
+
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+}
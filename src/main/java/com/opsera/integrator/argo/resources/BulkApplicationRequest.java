@@ -0,0 +1,16 @@
+package com.opsera.integrator.argo.resources;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkApplicationRequest {
+
+    private String toolId;
+
+    private String customerId;
+
+    private List<CreateApplicationRequest> applications;
+
+}
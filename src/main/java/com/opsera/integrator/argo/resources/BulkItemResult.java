@@ -0,0 +1,21 @@
+package com.opsera.integrator.argo.resources;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+public class BulkItemResult {
+
+    private String name;
+
+    private String action;
+
+    private String status;
+
+    private Integer statusCode;
+
+    private String message;
+
+}
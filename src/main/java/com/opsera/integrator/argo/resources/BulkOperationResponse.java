@@ -0,0 +1,18 @@
+package com.opsera.integrator.argo.resources;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkOperationResponse {
+
+    private int total;
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BulkItemResult> results;
+
+}
@@ -0,0 +1,18 @@
+package com.opsera.integrator.argo.resources;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BulkProvisionRequest {
+
+    private String toolId;
+
+    private String customerId;
+
+    private List<CreateRepositoryRequest> repositories;
+
+    private List<CreateProjectRequest> projects;
+
+}
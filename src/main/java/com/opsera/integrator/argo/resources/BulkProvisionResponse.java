@@ -0,0 +1,12 @@
+package com.opsera.integrator.argo.resources;
+
+import lombok.Data;
+
+@Data
+public class BulkProvisionResponse {
+
+    private BulkOperationResponse repositories;
+
+    private BulkOperationResponse projects;
+
+}
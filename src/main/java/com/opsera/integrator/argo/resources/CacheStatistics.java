@@ -0,0 +1,20 @@
+package com.opsera.integrator.argo.resources;
+
+import lombok.Data;
+
+@Data
+public class CacheStatistics {
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long loadFailureCount;
+
+    private long evictionCount;
+
+}
@@ -0,0 +1,17 @@
+package com.opsera.integrator.argo.resources;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ConfigCacheEvictRequest {
+
+    private String toolId;
+
+    private String customerId;
+
+    private String pipelineId;
+
+}
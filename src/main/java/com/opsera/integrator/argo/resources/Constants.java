@@ -14,7 +14,11 @@ public class Constants {
     public static final String ARGO_PROJECT_URL_TEMPLATE = "%s/api/v1/projects/%s";
     public static final String ARGO_SYNC_APPLICATION_URL_TEMPLATE = "%s/api/v1/applications/%s/sync";
     public static final String ARGO_SYNC_APPLICATION_OPERATION_URL_TEMPLATE = "%s/api/v1/applications/%s?operation=true";
+    public static final String ARGO_STREAM_APPLICATIONS_URL_TEMPLATE = "%s/api/v1/stream/applications";
     public static final String ARGO_APPLICATION_LOG_URL_TEMPLATE = "%s/api/v1/applications/%s/pods/%s/logs?namespace=%s";
+    public static final String ARGO_LOG_TAIL_LINES_QUERY_PARAM = "tailLines";
+    public static final String ARGO_LOG_SINCE_SECONDS_QUERY_PARAM = "sinceSeconds";
+    public static final String ARGO_LOG_FOLLOW_QUERY_PARAM = "follow";
     public static final String ARGO_APPLICATION_RESOURCE_TREE_URL_TEMPLATE = "%s/api/v1/applications/%s/resource-tree";
     public static final String ARGO_CREATE_APPLICATION_URL_TEMPLATE = "%s/api/v1/applications";
     public static final String ARGO_APPLICATION_RESOURCE_ACTIONS_TEMPLATE = "%s/api/v1/applications/%s/resource/actions?namespace=%s&resourceName=%s&version=v1alpha1&kind=Rollout&group=argoproj.io";
@@ -22,12 +26,19 @@ public class Constants {
     public static final String ARGO_GET_USER_INFO_TEMPLATE = "%s/api/v1/session/userinfo";
     public static final String ARGO_DELETE_REPLICASET_CUSTOM = "%s/api/v1/applications/%s/resource?name=%s&namespace=%s&resourceName=%s&version=%s&kind=%s&group=%s&force=true";
     public static final String ARGO_APPLICATION_DETAILS = "%s/api/v1/repositories/%s/appdetails";
+    public static final String ARGO_LIST_FIELDS_QUERY_PARAM = "fields";
+    public static final String ARGO_LIST_METADATA_FIELDS = "items.metadata.name,items.metadata.namespace,items.metadata.creationTimestamp,items.metadata.uid,items.metadata.resourceVersion";
+    public static final String ARGO_CLUSTER_LIST_FIELDS = "items.server,items.name";
+    public static final String ARGO_REPOSITORY_LIST_FIELDS = "items.repo,items.type,items.name,items.username,items.connectionState,items.project";
+    public static final String ARGO_STREAM_APPLICATION_FIELDS = "result.type,result.application.metadata.name,result.application.status.operationState,result.application.status.sync.status";
+    public static final String ARGO_STREAM_PROJECTS_QUERY_PARAM = "projects";
     
     public static final String ARGO_VAULT_KEY_TEMPLATE = "%s-argo";
     public static final String TOOL_REGISTRY_ENDPOINT = "/v2/registry/tool";
     public static final String VAULT_READ_ENDPOINT = "/read";
     public static final String HTTP_EMPTY_BODY = "{}";
     public static final String HTTP_HEADER_ACCEPT = "Accept";
+    public static final String SSE_DATA_PREFIX = "data:";
     public static final String QUERY_PARM_TOOLID = "toolId";
     public static final String QUERY_PARM_CUSTOMERID = "customerId";
     public static final String GET_TOOL_DETAILS = "/tooldetails/%s/%s";
@@ -52,6 +63,8 @@ public class Constants {
     public static final String API_GROUP = "rbac.authorization.k8s.io";
     public static final String API_VERSION = "rbac.authorization.k8s.io/v1";
     public static final String K8_SERVCE_ACCOUNT_NAME = "kubernetes.io/service-account.name";
+    public static final String K8_SERVICE_ACCOUNT_TOKEN_TYPE = "kubernetes.io/service-account-token";
+    public static final String K8_SERVICE_ACCOUNT_TOKEN_SUFFIX = "-token";
     public static final String TOKEN = "token";
     public static final String NAMESPACE_OPSERA = "opsera";
     public static final String AMAZON_AWS = "amazonaws";
@@ -59,6 +72,8 @@ public class Constants {
     public static final String OPSERA_USER = "opsera_user";
     public static final String AZURE_DEVOPS_TOOL_IDENTIFIER = "azure-devops";
     public static final String SUCCESS = "Success";
+    public static final String BULK_ACTION_CREATED = "created";
+    public static final String BULK_ACTION_UPDATED = "updated";
     public static final String COMPLETED = "Completed";
     public static final String RUNNING = "Running";
     public static final String OPSERA_PIPELINE_ARGO_REQUEST = "opsera.pipeline.argo.request";
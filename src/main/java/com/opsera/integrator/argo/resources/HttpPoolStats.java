@@ -0,0 +1,20 @@
+package com.opsera.integrator.argo.resources;
+
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class HttpPoolStats {
+
+    private int leased;
+
+    private int pending;
+
+    private int available;
+
+    private int max;
+
+    private Map<String, Integer> leasedPerRoute;
+
+}
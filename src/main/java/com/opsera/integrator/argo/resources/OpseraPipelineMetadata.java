@@ -17,5 +17,6 @@ public class OpseraPipelineMetadata {
     private String podName;
     private String namespace;
     private String jobId;
+    private Integer chunkSequence;
 
 }
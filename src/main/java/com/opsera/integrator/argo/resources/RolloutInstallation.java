@@ -0,0 +1,37 @@
+package com.opsera.integrator.argo.resources;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+public class RolloutInstallation {
+
+    private String customerId;
+
+    private String platformToolId;
+
+    private String clusterName;
+
+    private String platform;
+
+    private String status;
+
+    /** Set by a submit, true if it joined a job that was already queued or running. */
+    private Boolean joined;
+
+    private String message;
+
+    private Long queuedAt;
+
+    private Long startedAt;
+
+    private Long completedAt;
+
+    private long logLineCount;
+
+    private List<String> logs;
+}
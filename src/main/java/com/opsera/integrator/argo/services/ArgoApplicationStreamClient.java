@@ -0,0 +1,289 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.resources.ArgoApplicationItem;
+import com.opsera.integrator.argo.resources.ToolConfig;
+
+/**
+ * Multiplexes the application watches of an argo project over a single long
+ * lived connection to the argo application event stream. The connection is
+ * opened with the first subscription, reconnected with a backoff when it
+ * drops and aborted as soon as the last subscription is removed. Every reconnect
+ * uses the credentials of the latest subscription.
+ */
+@Component
+public class ArgoApplicationStreamClient {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(ArgoApplicationStreamClient.class);
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** Whether syncs are watched through the event stream. */
+    @Value("${argo.sync.stream.enabled}")
+    private boolean enabled;
+
+    /** The first reconnect delay. */
+    @Value("${argo.sync.stream.reconnectDelaySeconds}")
+    private long reconnectDelaySeconds;
+
+    /** The max reconnect delay. */
+    @Value("${argo.sync.stream.maxReconnectDelaySeconds}")
+    private long maxReconnectDelaySeconds;
+
+    /** The open streams, one per argo url, user and project. */
+    private final Map<String, ApplicationStream> streams = new HashMap<>();
+
+    /** The stream thread factory. */
+    private final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ArgoAppStream-");
+
+    /** Set on shutdown. */
+    private volatile boolean stopped;
+
+    /**
+     * Inits the stream thread factory.
+     */
+    @PostConstruct
+    public void init() {
+        threadFactory.setDaemon(true);
+    }
+
+    /**
+     * Listener of the events of a single application.
+     */
+    public interface Listener {
+
+        /**
+         * Called with every event of the application.
+         *
+         * @param applicationItem the application item
+         */
+        void onEvent(ArgoApplicationItem applicationItem);
+
+        /**
+         * Called when the stream connection dropped, events may have been
+         * missed until the next one arrives.
+         */
+        void onDisconnected();
+    }
+
+    /**
+     * Checks if the stream watch is enabled.
+     *
+     * @return true, if is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Subscribes the listener to the events of the given application.
+     *
+     * @param toolConfig      the tool config
+     * @param argoPassword    the argo password
+     * @param project         the project of the application, or null if not
+     *                        known
+     * @param applicationName the application name
+     * @param listener        the listener
+     */
+    public synchronized void subscribe(ToolConfig toolConfig, String argoPassword, String project, String applicationName, Listener listener) {
+        if (stopped) {
+            return;
+        }
+        String key = getStreamKey(toolConfig, project);
+        ApplicationStream stream = streams.get(key);
+        if (null == stream) {
+            stream = new ApplicationStream(key, toolConfig, argoPassword, project);
+            streams.put(key, stream);
+            stream.listeners.computeIfAbsent(applicationName, name -> new CopyOnWriteArraySet<>()).add(listener);
+            threadFactory.newThread(stream).start();
+            LOGGER.info("Opened argo application stream for url {} and project {}", toolConfig.getToolURL(), project);
+        } else {
+            stream.toolConfig = toolConfig;
+            stream.argoPassword = argoPassword;
+            stream.listeners.computeIfAbsent(applicationName, name -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+    }
+
+    /**
+     * Removes the listener of the given application.
+     *
+     * @param toolConfig      the tool config
+     * @param project         the project of the application, or null if not
+     *                        known
+     * @param applicationName the application name
+     * @param listener        the listener
+     */
+    public synchronized void unsubscribe(ToolConfig toolConfig, String project, String applicationName, Listener listener) {
+        ApplicationStream stream = streams.get(getStreamKey(toolConfig, project));
+        if (null == stream) {
+            return;
+        }
+        Set<Listener> listeners = stream.listeners.get(applicationName);
+        if (null != listeners) {
+            listeners.remove(listener);
+            if (listeners.isEmpty()) {
+                stream.listeners.remove(applicationName);
+            }
+        }
+        if (stream.listeners.isEmpty()) {
+            stream.abort();
+        }
+    }
+
+    /**
+     * Gets the number of open streams.
+     *
+     * @return the stream count
+     */
+    public synchronized int getStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Stops the streams and aborts their connections.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        stopped = true;
+        streams.values().forEach(ApplicationStream::abort);
+        streams.clear();
+    }
+
+    private String getStreamKey(ToolConfig toolConfig, String project) {
+        return toolConfig.getToolURL() + "|" + toolConfig.getUserName() + "|" + project;
+    }
+
+    /**
+     * Removes the stream when nobody is listening anymore.
+     *
+     * @param stream the stream
+     * @return true, if the stream has to be closed
+     */
+    private synchronized boolean closeIfUnused(ApplicationStream stream) {
+        if (stopped || stream.listeners.isEmpty()) {
+            streams.remove(stream.key, stream);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A connection to the event stream of an argo server.
+     */
+    private final class ApplicationStream implements Runnable {
+
+        private final String key;
+
+        private final String project;
+
+        private final Map<String, Set<Listener>> listeners = new ConcurrentHashMap<>();
+
+        private volatile ToolConfig toolConfig;
+
+        private volatile String argoPassword;
+
+        private boolean receivedEvents;
+
+        /** Aborts the open connection, null while not connected. */
+        private volatile Runnable abortConnection;
+
+        private ApplicationStream(String key, ToolConfig toolConfig, String argoPassword, String project) {
+            this.key = key;
+            this.toolConfig = toolConfig;
+            this.argoPassword = argoPassword;
+            this.project = project;
+        }
+
+        @Override
+        public void run() {
+            long delaySeconds = reconnectDelaySeconds;
+            while (!closeIfUnused(this)) {
+                receivedEvents = false;
+                try {
+                    serviceFactory.getArgoHelper().watchApplications(toolConfig, argoPassword, project, this::dispatch, this::connected);
+                } catch (Exception e) {
+                    if (stopped || listeners.isEmpty()) {
+                        LOGGER.debug("Argo application stream for url {} aborted. message: {}", toolConfig.getToolURL(), e.getMessage());
+                    } else {
+                        LOGGER.warn("Argo application stream for url {} failed. message: {}", toolConfig.getToolURL(), e.getMessage());
+                    }
+                } finally {
+                    abortConnection = null;
+                }
+                if (receivedEvents) {
+                    delaySeconds = reconnectDelaySeconds;
+                }
+                listeners.values().forEach(appListeners -> appListeners.forEach(Listener::onDisconnected));
+                if (closeIfUnused(this)) {
+                    break;
+                }
+                try {
+                    TimeUnit.SECONDS.sleep(delaySeconds);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                delaySeconds = Math.min(delaySeconds * 2, maxReconnectDelaySeconds);
+            }
+            LOGGER.info("Closed argo application stream for url {}", toolConfig.getToolURL());
+        }
+
+        /**
+         * Keeps the abort of the open connection, a connection opened after
+         * the last subscription was removed is aborted right away.
+         *
+         * @param abort the abort of the connection
+         */
+        private void connected(Runnable abort) {
+            abortConnection = abort;
+            if (stopped || listeners.isEmpty()) {
+                abort();
+            }
+        }
+
+        /**
+         * Aborts the open connection, the stream thread then sees that nobody
+         * is listening anymore and ends.
+         */
+        private void abort() {
+            Runnable abort = abortConnection;
+            if (null != abort) {
+                abort.run();
+            }
+        }
+
+        private boolean dispatch(ArgoApplicationItem applicationItem) {
+            receivedEvents = true;
+            if (stopped || listeners.isEmpty()) {
+                return false;
+            }
+            if (null != applicationItem.getMetadata()) {
+                Set<Listener> appListeners = listeners.get(applicationItem.getMetadata().getName());
+                if (null != appListeners) {
+                    appListeners.forEach(listener -> listener.onEvent(applicationItem));
+                }
+            }
+            return true;
+        }
+    }
+}
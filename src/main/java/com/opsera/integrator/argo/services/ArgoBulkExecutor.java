@@ -0,0 +1,131 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.exceptions.ArgoServiceException;
+import com.opsera.integrator.argo.exceptions.InvalidRequestException;
+import com.opsera.integrator.argo.resources.ToolConfig;
+
+/**
+ * Runs the items of the bulk requests in parallel. The number of calls in
+ * flight against a single argo server is capped over all bulk requests, so a
+ * large onboarding does not overload the argo api server. A bulk request is
+ * rejected with a 429 when its items do not fit in the queue.
+ */
+@Component
+public class ArgoBulkExecutor {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(ArgoBulkExecutor.class);
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The number of threads running bulk items. */
+    @Value("${argo.bulk.threads}")
+    private int threads;
+
+    /** The max number of bulk items in flight per argo server. */
+    @Value("${argo.bulk.maxConcurrentPerServer}")
+    private int maxConcurrentPerServer;
+
+    /** The max number of items of a bulk request. */
+    @Value("${argo.bulk.maxItems}")
+    private int maxItems;
+
+    /** The max number of bulk items queued or running over all bulk requests. */
+    @Value("${argo.bulk.queueCapacity}")
+    private int queueCapacity;
+
+    /** The number of bulk items queued or running. */
+    private final AtomicInteger queuedItems = new AtomicInteger();
+
+    /** The bulk executor. */
+    private ExecutorService executor;
+
+    /** Caps the bulk items in flight against each argo server. */
+    private ServerConcurrencyLimiter limiter;
+
+    /**
+     * Inits the executor.
+     */
+    @PostConstruct
+    public void init() {
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("ArgoBulk-"));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        executor = threadPoolExecutor;
+        limiter = new ServerConcurrencyLimiter(executor, maxConcurrentPerServer, queueCapacity);
+        serviceFactory.getArgoMetrics().monitorExecutor(executor, "argoBulkExecutor");
+        serviceFactory.getArgoMetrics().gauge("argo.bulk.queued", queuedItems, AtomicInteger::get);
+    }
+
+    /**
+     * Stops the executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the task for every item against the given argo server and waits
+     * for all of them. The task is expected to turn its failures into a
+     * result, an item that could not be run at all is turned into a result
+     * by the failure handler.
+     *
+     * @param <T>        the item type
+     * @param <R>        the result type
+     * @param toolConfig the argo tool config
+     * @param items      the items
+     * @param task       the task
+     * @param onFailure  the failure handler
+     * @return the results, in the order of the items
+     */
+    public <T, R> List<R> runAll(ToolConfig toolConfig, List<T> items, Function<T, R> task, BiFunction<T, Throwable, R> onFailure) {
+        if (items.size() > maxItems) {
+            throw new InvalidRequestException(String.format("A bulk request accepts at most %d items, received %d", maxItems, items.size()));
+        }
+        if (queuedItems.addAndGet(items.size()) > queueCapacity) {
+            queuedItems.addAndGet(-items.size());
+            throw new ArgoServiceException("Too many argo bulk items are queued, please retry later", HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(limiter.submit(toolConfig.getToolURL(), () -> task.apply(item)).whenComplete((result, e) -> queuedItems.decrementAndGet()).handle((result, e) -> {
+                if (null == e) {
+                    return result;
+                }
+                Throwable cause = e instanceof CompletionException && null != e.getCause() ? e.getCause() : e;
+                LOGGER.error("Failed to run the bulk item against {}. message: {}", toolConfig.getToolURL(), cause.getMessage());
+                return onFailure.apply(item, cause);
+            }));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        futures.forEach(future -> results.add(future.join()));
+        return results;
+    }
+}
@@ -9,42 +9,68 @@ import static com.opsera.integrator.argo.resources.Constants.ARGO_APPLICATION_LO
 import static com.opsera.integrator.argo.resources.Constants.ARGO_APPLICATION_RESOURCE_ACTIONS_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_APPLICATION_RESOURCE_TREE_URL_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_APPLICATION_URL_TEMPLATE;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_CLUSTER_LIST_FIELDS;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_CLUSTER_URL_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_CREATE_APPLICATION_URL_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_DELETE_REPLICASET_CUSTOM;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_GET_USER_INFO_TEMPLATE;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_LIST_FIELDS_QUERY_PARAM;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_LOG_FOLLOW_QUERY_PARAM;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_LOG_SINCE_SECONDS_QUERY_PARAM;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_LOG_TAIL_LINES_QUERY_PARAM;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_LIST_METADATA_FIELDS;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_PROJECT_URL_TEMPLATE;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_REPOSITORY_LIST_FIELDS;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_REPOSITORY_URL_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_SESSION_TOKEN_URL;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_STREAM_APPLICATIONS_URL_TEMPLATE;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_STREAM_APPLICATION_FIELDS;
+import static com.opsera.integrator.argo.resources.Constants.ARGO_STREAM_PROJECTS_QUERY_PARAM;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_SYNC_APPLICATION_OPERATION_URL_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.ARGO_SYNC_APPLICATION_URL_TEMPLATE;
 import static com.opsera.integrator.argo.resources.Constants.HTTP_EMPTY_BODY;
 import static com.opsera.integrator.argo.resources.Constants.HTTP_HEADER_ACCEPT;
 import static com.opsera.integrator.argo.resources.Constants.INVALID_CONNECTION_DETAILS;
+import static com.opsera.integrator.argo.resources.Constants.SSE_DATA_PREFIX;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.conn.ConnectionReleaseTrigger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.opsera.integrator.argo.config.IServiceFactory;
 import com.opsera.integrator.argo.exceptions.InvalidRequestException;
 import com.opsera.integrator.argo.resources.ArgoApplicationItem;
+import com.opsera.integrator.argo.resources.ArgoApplicationMetadataList;
 import com.opsera.integrator.argo.resources.ArgoApplicationSource;
 import com.opsera.integrator.argo.resources.ArgoApplicationSpec;
+import com.opsera.integrator.argo.resources.ArgoApplicationStreamResult;
 import com.opsera.integrator.argo.resources.ArgoApplicationsList;
 import com.opsera.integrator.argo.resources.ArgoClusterList;
 import com.opsera.integrator.argo.resources.ArgoRepositoriesList;
@@ -56,6 +82,7 @@ import com.opsera.integrator.argo.resources.CreateProjectRequest;
 import com.opsera.integrator.argo.resources.LogResult;
 import com.opsera.integrator.argo.resources.Node;
 import com.opsera.integrator.argo.resources.ResourceTree;
+import com.opsera.integrator.argo.resources.Result;
 import com.opsera.integrator.argo.resources.RolloutActions;
 import com.opsera.integrator.argo.resources.ToolConfig;
 import com.opsera.integrator.argo.resources.UserInfo;
@@ -69,10 +96,23 @@ public class ArgoHelper {
     /** The Constant LOGGER. */
     public static final Logger LOGGER = LoggerFactory.getLogger(ArgoHelper.class);
 
+    /** The reader of the entries of the argo log stream. */
+    private static final ObjectReader LOG_RESULT_READER = new JsonMapper().readerFor(LogResult.class);
+
     /** The service factory. */
     @Autowired
     private IServiceFactory serviceFactory;
 
+    /** The rest template of the argo connection pool. */
+    @Autowired
+    @Qualifier("argoRestTemplate")
+    private RestTemplate argoRestTemplate;
+
+    /** The rest template of the argo event stream connection pool. */
+    @Autowired
+    @Qualifier("argoStreamRestTemplate")
+    private RestTemplate argoStreamRestTemplate;
+
     /**
      * get argo application details.
      *
@@ -84,9 +124,8 @@ public class ArgoHelper {
      */
     public ArgoApplicationItem getArgoApplication(String applicationName, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("Starting to fetch Argo Application for applicationName {}", applicationName);
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ALL_ARGO_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoApplicationItem(response.getBody());
     }
 
@@ -98,12 +137,24 @@ public class ArgoHelper {
      * @return the all argo applications
      */
     public ArgoApplicationsList getAllArgoApplications(ToolConfig toolConfig, String argoPassword) {
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ARGO_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL());
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoApplicationsList(response.getBody());
     }
 
+    /**
+     * Gets the metadata of all argo applications. The response is parsed
+     * while it is read, without buffering the full application list.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @return the argo application metadata list
+     */
+    public ArgoApplicationMetadataList getAllArgoApplicationsMetadata(ToolConfig toolConfig, String argoPassword) {
+        String url = withFields(String.format(ARGO_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL()), ARGO_LIST_METADATA_FIELDS);
+        return execute(url, toolConfig, argoPassword, response -> serviceFactory.getResponseParser().extractArgoApplicationMetadataList(response.getBody()));
+    }
+
     /**
      * get all argo clusters.
      *
@@ -113,9 +164,8 @@ public class ArgoHelper {
      * @return the all argo clusters
      */
     public ArgoClusterList getAllArgoClusters(ToolConfig toolConfig, String argoPassword) {
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
-        String url = String.format(ARGO_ALL_CLUSTER_URL_TEMPLATE, toolConfig.getToolURL());
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        String url = withFields(String.format(ARGO_ALL_CLUSTER_URL_TEMPLATE, toolConfig.getToolURL()), ARGO_CLUSTER_LIST_FIELDS);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoClustersList(response.getBody());
     }
 
@@ -128,12 +178,78 @@ public class ArgoHelper {
      * @return the all argo projects
      */
     public ArgoApplicationsList getAllArgoProjects(ToolConfig toolConfig, String argoPassword) {
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ARGO_ALL_PROJECT_URL_TEMPLATE, toolConfig.getToolURL());
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoApplicationsList(response.getBody());
     }
 
+    /**
+     * Gets the metadata of all argo projects. The response is parsed while it
+     * is read, without buffering the full project list.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @return the argo project metadata list
+     */
+    public ArgoApplicationMetadataList getAllArgoProjectsMetadata(ToolConfig toolConfig, String argoPassword) {
+        String url = withFields(String.format(ARGO_ALL_PROJECT_URL_TEMPLATE, toolConfig.getToolURL()), ARGO_LIST_METADATA_FIELDS);
+        return execute(url, toolConfig, argoPassword, response -> serviceFactory.getResponseParser().extractArgoApplicationMetadataList(response.getBody()));
+    }
+
+    /**
+     * Checks if the application exists with a direct lookup of the
+     * application.
+     *
+     * @param applicationName the application name
+     * @param toolConfig      the tool config
+     * @param argoPassword    the argo password
+     * @return true, if the application exists
+     */
+    public boolean applicationExists(String applicationName, ToolConfig toolConfig, String argoPassword) {
+        String url = String.format(ALL_ARGO_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
+        return exists("application", url, applicationName, toolConfig, argoPassword);
+    }
+
+    /**
+     * Checks if the project exists with a direct lookup of the project.
+     *
+     * @param projectName  the project name
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @return true, if the project exists
+     */
+    public boolean projectExists(String projectName, ToolConfig toolConfig, String argoPassword) {
+        String url = String.format(ARGO_PROJECT_URL_TEMPLATE, toolConfig.getToolURL(), projectName);
+        return exists("project", url, projectName, toolConfig, argoPassword);
+    }
+
+    /**
+     * Probes the resource. Argo answers forbidden instead of not found when
+     * the user may not see the resource, which the list calls would have
+     * left out as well, so both count as absent.
+     */
+    private boolean exists(String kind, String url, String name, ToolConfig toolConfig, String argoPassword) {
+        try {
+            execute(url, toolConfig, argoPassword, response -> null);
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.Forbidden e) {
+            LOGGER.debug("Argo {} {} does not exist on url {}", kind, name, toolConfig.getToolURL());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the argo field projection to a list url, argo leaves out all the
+     * item fields that are not listed.
+     *
+     * @param listUrl the list url
+     * @param fields  the comma separated fields
+     * @return the url
+     */
+    private String withFields(String listUrl, String fields) {
+        return UriComponentsBuilder.fromHttpUrl(listUrl).queryParam(ARGO_LIST_FIELDS_QUERY_PARAM, fields).toUriString();
+    }
+
     /**
      * sync an argo application.
      *
@@ -145,9 +261,8 @@ public class ArgoHelper {
      */
     public ArgoApplicationItem syncApplication(String applicationName, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("Starting to Sync Argo Application for applicationName {}", applicationName);
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(HTTP_EMPTY_BODY, toolConfig, argoPassword);
         String url = String.format(ARGO_SYNC_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
-        ResponseEntity<ArgoApplicationItem> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, ArgoApplicationItem.class);
+        ResponseEntity<ArgoApplicationItem> response = exchange(url, HttpMethod.POST, HTTP_EMPTY_BODY, toolConfig, argoPassword, ArgoApplicationItem.class);
         return response.getBody();
     }
 
@@ -162,13 +277,114 @@ public class ArgoHelper {
      */
     public ArgoApplicationItem syncApplicationOperation(String applicationName, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("Starting to Sync Argo Application Operation for applicationName {}", applicationName);
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(HTTP_EMPTY_BODY, toolConfig, argoPassword);
         String url = String.format(ARGO_SYNC_APPLICATION_OPERATION_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
-        ResponseEntity<ArgoApplicationItem> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, ArgoApplicationItem.class);
+        ResponseEntity<ArgoApplicationItem> response = exchange(url, HttpMethod.GET, HTTP_EMPTY_BODY, toolConfig, argoPassword, ArgoApplicationItem.class);
 
         return response.getBody();
     }
 
+    /**
+     * Opens the argo application event stream and hands every application
+     * event to the given handler. The call blocks until the server closes the
+     * stream, the connection fails or the handler returns false. Argo only
+     * sends the fields the sync status is evaluated from, and only the
+     * applications of the project when one is given.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @param project      the project, or null for all projects
+     * @param eventHandler the event handler, returns false to stop reading
+     */
+    public void watchApplications(ToolConfig toolConfig, String argoPassword, String project, Predicate<ArgoApplicationItem> eventHandler) {
+        watchApplications(toolConfig, argoPassword, project, eventHandler, abort -> {
+        });
+    }
+
+    /**
+     * Opens the argo application event stream like
+     * {@link #watchApplications(ToolConfig, String, String, Predicate)} and
+     * hands the abort of the connection to the given handler once it is open,
+     * so the stream can be closed from another thread.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @param project      the project, or null for all projects
+     * @param eventHandler the event handler, returns false to stop reading
+     * @param abortHandler called with the abort of the open connection
+     */
+    public void watchApplications(ToolConfig toolConfig, String argoPassword, String project, Predicate<ArgoApplicationItem> eventHandler, Consumer<Runnable> abortHandler) {
+        LOGGER.debug("Starting to watch Argo Applications for url {} and project {}", toolConfig.getToolURL(), project);
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(String.format(ARGO_STREAM_APPLICATIONS_URL_TEMPLATE, toolConfig.getToolURL()))
+                .queryParam(ARGO_LIST_FIELDS_QUERY_PARAM, ARGO_STREAM_APPLICATION_FIELDS);
+        if (!StringUtils.isEmpty(project)) {
+            uriBuilder.queryParam(ARGO_STREAM_PROJECTS_QUERY_PARAM, project);
+        }
+        String url = uriBuilder.toUriString();
+        try {
+            argoStreamRestTemplate.execute(url, HttpMethod.GET, requestCallback(toolConfig, argoPassword, MediaType.TEXT_EVENT_STREAM_VALUE),
+                    response -> readApplicationEvents(response.getBody(), eventHandler, abortHandler));
+        } catch (HttpClientErrorException.Unauthorized e) {
+            LOGGER.debug("Argo rejected the cached token for url {}, retrying with a new token", toolConfig.getToolURL());
+            serviceFactory.getArgoSessionTokenCache().invalidate(toolConfig, argoPassword);
+            argoStreamRestTemplate.execute(url, HttpMethod.GET, requestCallback(toolConfig, argoPassword, MediaType.TEXT_EVENT_STREAM_VALUE),
+                    response -> readApplicationEvents(response.getBody(), eventHandler, abortHandler));
+        }
+    }
+
+    private RequestCallback requestCallback(ToolConfig toolConfig, String argoPassword, String accept) {
+        String argoToken = getArgoBearerToken(toolConfig, argoPassword);
+        return request -> {
+            request.getHeaders().add(HTTP_HEADER_ACCEPT, accept);
+            request.getHeaders().setBearerAuth(argoToken);
+        };
+    }
+
+    /**
+     * Reads the server sent events of the application stream. Each event is
+     * a single data line holding the json of the watch event.
+     *
+     * @param body         the body
+     * @param eventHandler the event handler
+     * @param abortHandler called with the abort of the connection
+     * @return null
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private Void readApplicationEvents(InputStream body, Predicate<ArgoApplicationItem> eventHandler, Consumer<Runnable> abortHandler) throws IOException {
+        abortHandler.accept(() -> abortStream(body));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while (null != (line = reader.readLine())) {
+            if (!line.startsWith(SSE_DATA_PREFIX)) {
+                continue;
+            }
+            ArgoApplicationStreamResult streamResult = serviceFactory.gson().fromJson(line.substring(SSE_DATA_PREFIX.length()).trim(), ArgoApplicationStreamResult.class);
+            if (null == streamResult || null == streamResult.getResult() || null == streamResult.getResult().getApplication()) {
+                continue;
+            }
+            if (!eventHandler.test(streamResult.getResult().getApplication())) {
+                abortStream(body);
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Aborts the stream connection, closing the response would otherwise read
+     * the never ending stream to its end.
+     *
+     * @param body the body
+     */
+    private void abortStream(InputStream body) {
+        if (body instanceof ConnectionReleaseTrigger) {
+            try {
+                ((ConnectionReleaseTrigger) body).abortConnection();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to abort the argo application stream. message: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * creates an argo application.
      *
@@ -180,9 +396,8 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> createApplication(ArgoApplicationItem argoApplication, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("Starting to Create Argo Application for request {}", argoApplication);
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword);
         String url = String.format(ARGO_CREATE_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL());
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, String.class);
+        return exchange(url, HttpMethod.POST, serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -197,9 +412,8 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> updateApplication(ArgoApplicationItem argoApplication, ToolConfig toolConfig, String argoPassword, String applicationName) {
         LOGGER.debug("Starting to Update Argo Application for request {}", argoApplication);
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword);
         String url = String.format(ALL_ARGO_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.PUT, requestEntity, String.class);
+        return exchange(url, HttpMethod.PUT, serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -212,9 +426,8 @@ public class ArgoHelper {
      */
     public void deleteArgoApplication(String applicationName, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to delete the application {} and url {} ", applicationName, toolConfig.getToolURL());
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ALL_ARGO_APPLICATION_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
-        serviceFactory.getRestTemplate().exchange(url, HttpMethod.DELETE, requestEntity, Void.class);
+        exchange(url, HttpMethod.DELETE, null, toolConfig, argoPassword, Void.class);
         LOGGER.debug("To Completed to delete the application {} and url {} ", applicationName, toolConfig.getToolURL());
     }
 
@@ -232,7 +445,7 @@ public class ArgoHelper {
             LOGGER.debug("To Starting to get session token with baseUrl {}, username: {}", baseUrl, username);
             ArgoSessionRequest request = new ArgoSessionRequest(username, password);
             String url = String.format(ARGO_SESSION_TOKEN_URL, baseUrl);
-            return serviceFactory.getRestTemplate().postForObject(url, request, ArgoSessionToken.class);
+            return argoRestTemplate.postForObject(url, request, ArgoSessionToken.class);
         } catch (Exception e) {
             LOGGER.error("Exception occured while invoking getSessionToken. Message: {}", e.getMessage());
             throw new InvalidRequestException(INVALID_CONNECTION_DETAILS);
@@ -246,7 +459,7 @@ public class ArgoHelper {
             HttpHeaders requestHeaders = new HttpHeaders();
             requestHeaders.add(HTTP_HEADER_ACCEPT, MediaType.APPLICATION_JSON_VALUE);
             requestHeaders.setBearerAuth(argoToken);
-            ResponseEntity<UserInfo> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), UserInfo.class);
+            ResponseEntity<UserInfo> response = argoRestTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(requestHeaders), UserInfo.class);
             return response.getBody();
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
@@ -271,7 +484,19 @@ public class ArgoHelper {
         return new HttpEntity<>(requestHeaders);
     }
 
+    /**
+     * Returns the argo bearer token, served from the token cache when a valid
+     * one is available.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @return the argo bearer token
+     */
     private String getArgoBearerToken(ToolConfig toolConfig, String argoPassword) {
+        return serviceFactory.getArgoSessionTokenCache().getToken(toolConfig, argoPassword, () -> requestArgoBearerToken(toolConfig, argoPassword));
+    }
+
+    private String requestArgoBearerToken(ToolConfig toolConfig, String argoPassword) {
         String argoToken;
         if (!toolConfig.isSecretAccessTokenEnabled()) {
             ArgoSessionToken sessionToken = getSessionToken(toolConfig.getToolURL(), toolConfig.getUserName(), argoPassword);
@@ -287,6 +512,60 @@ public class ArgoHelper {
         return argoToken;
     }
 
+    /**
+     * Executes the argo request with the cached bearer token. When argo rejects
+     * the token it is dropped from the cache and the request is retried once
+     * with a new token.
+     *
+     * @param <T>          the generic type
+     * @param url          the url
+     * @param method       the method
+     * @param requestBody  the request body, null for requests without payload
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @param responseType the response type
+     * @return the response entity
+     */
+    private <T> ResponseEntity<T> exchange(String url, HttpMethod method, String requestBody, ToolConfig toolConfig, String argoPassword, Class<T> responseType) {
+        try {
+            return argoRestTemplate.exchange(url, method, buildRequestEntity(requestBody, toolConfig, argoPassword), responseType);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            LOGGER.debug("Argo rejected the cached token for url {}, retrying with a new token", toolConfig.getToolURL());
+            serviceFactory.getArgoSessionTokenCache().invalidate(toolConfig, argoPassword);
+            return argoRestTemplate.exchange(url, method, buildRequestEntity(requestBody, toolConfig, argoPassword), responseType);
+        }
+    }
+
+    /**
+     * Runs a GET request against argo and hands the response stream to the
+     * given extractor, retrying once with a new token if argo rejects the
+     * cached one.
+     *
+     * @param <T>               the result type
+     * @param url               the url
+     * @param toolConfig        the tool config
+     * @param argoPassword      the argo password
+     * @param responseExtractor the response extractor
+     * @return the extracted result
+     */
+    private <T> T execute(String url, ToolConfig toolConfig, String argoPassword, ResponseExtractor<T> responseExtractor) {
+        return execute(argoRestTemplate, url, toolConfig, argoPassword, responseExtractor);
+    }
+
+    private <T> T execute(RestTemplate restTemplate, String url, ToolConfig toolConfig, String argoPassword, ResponseExtractor<T> responseExtractor) {
+        try {
+            return restTemplate.execute(url, HttpMethod.GET, requestCallback(toolConfig, argoPassword, MediaType.APPLICATION_JSON_VALUE), responseExtractor);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            LOGGER.debug("Argo rejected the cached token for url {}, retrying with a new token", toolConfig.getToolURL());
+            serviceFactory.getArgoSessionTokenCache().invalidate(toolConfig, argoPassword);
+            return restTemplate.execute(url, HttpMethod.GET, requestCallback(toolConfig, argoPassword, MediaType.APPLICATION_JSON_VALUE), responseExtractor);
+        }
+    }
+
+    private HttpEntity<?> buildRequestEntity(String requestBody, ToolConfig toolConfig, String argoPassword) {
+        return null == requestBody ? getRequestEntity(toolConfig, argoPassword) : getRequestEntityWithBody(requestBody, toolConfig, argoPassword);
+    }
+
     /**
      * Return header with object body
      * 
@@ -332,9 +611,8 @@ public class ArgoHelper {
     public ArgoRepositoryItem getArgoRepository(String repositoryUrl, ToolConfig toolConfig, String argoPassword) throws UnsupportedEncodingException {
         LOGGER.debug("To Starting to get the repository {} and url {} ", repositoryUrl, toolConfig.getToolURL());
         repositoryUrl = encodeURL(repositoryUrl);
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ARGO_REPOSITORY_URL_TEMPLATE, toolConfig.getToolURL(), repositoryUrl);
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoRepositoryItem(response.getBody());
     }
 
@@ -348,9 +626,8 @@ public class ArgoHelper {
      */
     public ArgoRepositoriesList getArgoRepositoriesList(ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to get all the repositories {} ", toolConfig.getToolURL());
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
-        String url = String.format(ALL_ARGO_REPOSITORY_URL_TEMPLATE, toolConfig.getToolURL());
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        String url = withFields(String.format(ALL_ARGO_REPOSITORY_URL_TEMPLATE, toolConfig.getToolURL()), ARGO_REPOSITORY_LIST_FIELDS);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoRepositoriesList(response.getBody());
     }
 
@@ -365,9 +642,8 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> createRepository(ArgoRepositoryItem argoApplication, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to create the repository {} and url {} ", argoApplication.getRepo(), toolConfig.getToolURL());
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword);
         String url = String.format(ALL_ARGO_REPOSITORY_URL_TEMPLATE, toolConfig.getToolURL());
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, String.class);
+        return exchange(url, HttpMethod.POST, serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -382,10 +658,9 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> updateRepository(ArgoRepositoryItem argoApplication, ToolConfig toolConfig, String argoPassword) throws UnsupportedEncodingException {
         LOGGER.debug("To Starting to update the repository {} and url {} ", argoApplication.getRepo(), toolConfig.getToolURL());
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword);
         String repositoryUrl = encodeURL(argoApplication.getRepo());
         String url = String.format(ARGO_REPOSITORY_URL_TEMPLATE, toolConfig.getToolURL(), repositoryUrl);
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.PUT, requestEntity, String.class);
+        return exchange(url, HttpMethod.PUT, serviceFactory.gson().toJson(argoApplication), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -400,9 +675,8 @@ public class ArgoHelper {
     public void deleteArgoRepository(String repositoryUrl, ToolConfig toolConfig, String argoPassword) throws UnsupportedEncodingException {
         LOGGER.debug("To Starting to delete the repository {} and url {} ", repositoryUrl, toolConfig.getToolURL());
         repositoryUrl = encodeURL(repositoryUrl);
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ARGO_REPOSITORY_URL_TEMPLATE, toolConfig.getToolURL(), repositoryUrl);
-        serviceFactory.getRestTemplate().exchange(url, HttpMethod.DELETE, requestEntity, Void.class);
+        exchange(url, HttpMethod.DELETE, null, toolConfig, argoPassword, Void.class);
         LOGGER.debug("To Completed to delete the repository {} and url {} ", repositoryUrl, toolConfig.getToolURL());
     }
 
@@ -430,9 +704,8 @@ public class ArgoHelper {
      */
     public ArgoApplicationItem getArgoProject(String name, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("Starting to get Argo Project for projectname {}", name);
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ARGO_PROJECT_URL_TEMPLATE, toolConfig.getToolURL(), name);
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
+        ResponseEntity<String> response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, String.class);
         return serviceFactory.getResponseParser().extractArgoApplicationItem(response.getBody());
     }
 
@@ -447,9 +720,8 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> createProject(CreateProjectRequest request, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to create the project {} and url {} ", request.getProject().getMetadata().getName(), toolConfig.getToolURL());
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(request), toolConfig, argoPassword);
         String url = String.format(ARGO_ALL_PROJECT_URL_TEMPLATE, toolConfig.getToolURL());
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, String.class);
+        return exchange(url, HttpMethod.POST, serviceFactory.gson().toJson(request), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -462,9 +734,8 @@ public class ArgoHelper {
      */
     public void deleteArgoProject(String projectName, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to delete the project {} and url {} ", projectName, toolConfig.getToolURL());
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String url = String.format(ARGO_PROJECT_URL_TEMPLATE, toolConfig.getToolURL(), projectName);
-        serviceFactory.getRestTemplate().exchange(url, HttpMethod.DELETE, requestEntity, Void.class);
+        exchange(url, HttpMethod.DELETE, null, toolConfig, argoPassword, Void.class);
         LOGGER.debug("To Completed to delete the project {} and url {} ", projectName, toolConfig.getToolURL());
     }
 
@@ -479,9 +750,8 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> updateProject(CreateProjectRequest request, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to update the project {} and url {} ", request.getProject().getMetadata().getName(), toolConfig.getToolURL());
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(request), toolConfig, argoPassword);
         String url = String.format(ARGO_PROJECT_URL_TEMPLATE, toolConfig.getToolURL(), request.getProject().getMetadata().getName());
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.PUT, requestEntity, String.class);
+        return exchange(url, HttpMethod.PUT, serviceFactory.gson().toJson(request), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -495,9 +765,8 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> createCluster(CreateClusterRequest request, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("To Starting to create the cluster {} and url {} ", request.getName(), toolConfig.getToolURL());
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(request), toolConfig, argoPassword);
         String url = String.format(ARGO_ALL_CLUSTER_URL_TEMPLATE, toolConfig.getToolURL());
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, String.class);
+        return exchange(url, HttpMethod.POST, serviceFactory.gson().toJson(request), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -512,10 +781,9 @@ public class ArgoHelper {
      */
     public ResponseEntity<String> updateCluster(CreateClusterRequest request, ToolConfig toolConfig, String argoPassword) throws UnsupportedEncodingException {
         LOGGER.debug("To Starting to update the cluster {} and url {} ", request.getName(), toolConfig.getToolURL());
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(request), toolConfig, argoPassword);
         String serverUrl = encodeURL(request.getServer());
         String url = String.format(ARGO_CLUSTER_URL_TEMPLATE, toolConfig.getToolURL(), serverUrl);
-        return serviceFactory.getRestTemplate().exchange(url, HttpMethod.PUT, requestEntity, String.class);
+        return exchange(url, HttpMethod.PUT, serviceFactory.gson().toJson(request), toolConfig, argoPassword, String.class);
     }
 
     /**
@@ -529,48 +797,77 @@ public class ArgoHelper {
      */
     public void deleteArgoCluster(String server, ToolConfig toolConfig, String argoPassword) throws UnsupportedEncodingException {
         LOGGER.debug("To Starting to delete the cluster {} and url {} ", server, toolConfig.getToolURL());
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
         String serverUrl = encodeURL(server);
         String url = String.format(ARGO_CLUSTER_URL_TEMPLATE, toolConfig.getToolURL(), serverUrl);
-        serviceFactory.getRestTemplate().exchange(url, HttpMethod.DELETE, requestEntity, Void.class);
+        exchange(url, HttpMethod.DELETE, null, toolConfig, argoPassword, Void.class);
         LOGGER.debug("To Completed to delete the cluster {} and url {} ", server, toolConfig.getToolURL());
     }
 
     /**
-     * Gets the argo application log.
+     * Streams the log of the pod line by line, the log is never held in
+     * memory as a whole.
      *
      * @param applicationName the application name
-     * @param baseUrl         the base url
-     * @param username        the username
-     * @param password        the password
-     * @return the argo application log
+     * @param toolConfig      the tool config
+     * @param argoPassword    the argo password
+     * @param podName         the pod name
+     * @param namespace       the namespace
+     * @param tailLines       the number of lines to read from the end of the
+     *                        log, all lines if null
+     * @param sinceSeconds    only the lines of the last seconds, all lines if
+     *                        null
+     * @param follow          whether to keep reading until the pod stops
+     * @param lineHandler     called with every log line
      */
-    public String getArgoApplicationLog(String applicationName, ToolConfig toolConfig, String argoPassword, String podName, String namespace) {
-        LOGGER.debug("Starting to get argo Application log for applicationName {}", applicationName);
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(HTTP_EMPTY_BODY, toolConfig, argoPassword);
-        String url = String.format(ARGO_APPLICATION_LOG_URL_TEMPLATE, toolConfig.getToolURL(), applicationName, podName, namespace);
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, String.class);
-        String structure = response.getBody();
-        StringBuilder sb = new StringBuilder();
-        final JsonMapper mapper = new JsonMapper();
-        try (MappingIterator<LogResult> it = mapper.readerFor(LogResult.class).readValues(structure)) {
+    public void streamArgoApplicationLog(String applicationName, ToolConfig toolConfig, String argoPassword, String podName, String namespace, Long tailLines, Long sinceSeconds,
+            boolean follow, Consumer<String> lineHandler) {
+        LOGGER.debug("Starting to stream argo Application log for applicationName {} and pod {}", applicationName, podName);
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder
+                .fromHttpUrl(String.format(ARGO_APPLICATION_LOG_URL_TEMPLATE, toolConfig.getToolURL(), applicationName, podName, namespace));
+        if (null != tailLines) {
+            uriBuilder.queryParam(ARGO_LOG_TAIL_LINES_QUERY_PARAM, tailLines);
+        }
+        if (null != sinceSeconds) {
+            uriBuilder.queryParam(ARGO_LOG_SINCE_SECONDS_QUERY_PARAM, sinceSeconds);
+        }
+        if (follow) {
+            uriBuilder.queryParam(ARGO_LOG_FOLLOW_QUERY_PARAM, true);
+        }
+        String url = uriBuilder.build().toUriString();
+        execute(follow ? argoStreamRestTemplate : argoRestTemplate, url, toolConfig, argoPassword, response -> readApplicationLog(response.getBody(), lineHandler));
+        LOGGER.debug("Completed to stream argo Application log for applicationName {} and pod {}", applicationName, podName);
+    }
+
+    /**
+     * Reads the entries of the argo log stream until the last one.
+     *
+     * @param body        the log stream response
+     * @param lineHandler called with every log line
+     * @return null
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public Void readApplicationLog(InputStream body, Consumer<String> lineHandler) throws IOException {
+        try (MappingIterator<LogResult> it = LOG_RESULT_READER.readValues(body)) {
             while (it.hasNextValue()) {
-                LogResult logResult = it.nextValue();
-                sb.append(String.format(logResult.getResult().getContent()));
-                sb.append(System.getProperty("line.separator"));
+                Result result = it.nextValue().getResult();
+                if (null == result) {
+                    continue;
+                }
+                if (Boolean.TRUE.equals(result.getLast())) {
+                    break;
+                }
+                if (null != result.getContent()) {
+                    lineHandler.accept(result.getContent());
+                }
             }
-        } catch (IOException e) {
-            LOGGER.error("Exception occured while parsing the console log. message: {}", e.getMessage());
-            return "";
         }
-        return sb.toString();
+        return null;
     }
 
     public ResourceTree getResourceTree(String applicationName, ToolConfig toolConfig, String argoPassword) {
         LOGGER.debug("Starting to get argo Application log for applicationName {}", applicationName);
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(HTTP_EMPTY_BODY, toolConfig, argoPassword);
         String url = String.format(ARGO_APPLICATION_RESOURCE_TREE_URL_TEMPLATE, toolConfig.getToolURL(), applicationName);
-        ResponseEntity<ResourceTree> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, ResourceTree.class);
+        ResponseEntity<ResourceTree> response = exchange(url, HttpMethod.GET, HTTP_EMPTY_BODY, toolConfig, argoPassword, ResourceTree.class);
         return response.getBody();
     }
 
@@ -579,11 +876,9 @@ public class ArgoHelper {
         String url = String.format(ARGO_APPLICATION_RESOURCE_ACTIONS_TEMPLATE, toolConfig.getToolURL(), applicationName, node.getNamespace(), node.getName());
         ResponseEntity<RolloutActions> response = null;
         if (!StringUtils.isEmpty(status)) {
-            HttpEntity<String> requestEntity = getRequestEntityWithBody("\"" + status + "\"", toolConfig, argoPassword);
-            response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, RolloutActions.class);
+            response = exchange(url, HttpMethod.POST, "\"" + status + "\"", toolConfig, argoPassword, RolloutActions.class);
         } else {
-            HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
-            response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.GET, requestEntity, RolloutActions.class);
+            response = exchange(url, HttpMethod.GET, null, toolConfig, argoPassword, RolloutActions.class);
         }
         return response.getBody();
     }
@@ -592,8 +887,7 @@ public class ArgoHelper {
         LOGGER.debug("Starting to delete replicaset {} for the application {}", node.getName(), applicationName);
         String url = String.format(ARGO_DELETE_REPLICASET_CUSTOM, toolConfig.getToolURL(), applicationName, node.getName(), node.getNamespace(), node.getName(), node.getVersion(), node.getKind(),
                 node.getGroup());
-        HttpEntity<HttpHeaders> requestEntity = getRequestEntity(toolConfig, argoPassword);
-        ResponseEntity<String> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.DELETE, requestEntity, String.class);
+        ResponseEntity<String> response = exchange(url, HttpMethod.DELETE, null, toolConfig, argoPassword, String.class);
         return response.getBody();
     }
 
@@ -609,9 +903,8 @@ public class ArgoHelper {
      */
     public ArgoApplicationSource getAppdetails(ToolConfig toolConfig, String argoPassword, ArgoApplicationSpec spec) throws UnsupportedEncodingException {
         LOGGER.debug("Starting to get the appdetails ");
-        HttpEntity<String> requestEntity = getRequestEntityWithBody(serviceFactory.gson().toJson(spec), toolConfig, argoPassword);
         String url = String.format(ARGO_APPLICATION_DETAILS, toolConfig.getToolURL(), URLEncoder.encode(spec.getSource().getRepoURL(), "UTF-8"));
-        ResponseEntity<ArgoApplicationSource> response = serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, ArgoApplicationSource.class);
+        ResponseEntity<ArgoApplicationSource> response = exchange(url, HttpMethod.POST, serviceFactory.gson().toJson(spec), toolConfig, argoPassword, ArgoApplicationSource.class);
         return response.getBody();
     }
 }
@@ -0,0 +1,108 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * The application metrics: the duration of the sync phases, the kafka sends
+ * and the gauges of the internal executors. The outbound http requests are
+ * timed by the rest template interceptors.
+ */
+@Component
+public class ArgoMetrics {
+
+    /** The phase up to the argo sync call: config, credential and spec updates. */
+    public static final String SYNC_PHASE_PRE_SYNC = "pre-sync";
+
+    /** The argo sync call. */
+    public static final String SYNC_PHASE_SYNC_CALL = "sync-call";
+
+    /** From the sync call until the sync reached a final phase. */
+    public static final String SYNC_PHASE_WAIT_FOR_COMPLETION = "wait-for-completion";
+
+    /** The pod log streaming after the sync. */
+    public static final String SYNC_PHASE_LOG_STREAMING = "log-streaming";
+
+    /** The publishing of the sync summary to the data transformer. */
+    public static final String SYNC_PHASE_DATA_TRANSFORMER_PUBLISH = "data-transformer-publish";
+
+    private static final String SYNC_PHASE_METRIC = "argo.sync.phase";
+
+    private static final String KAFKA_SEND_METRIC = "argo.kafka.sends";
+
+    /** The meter registry. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** The task executor. */
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    /**
+     * Binds the gauges of the shared task executor.
+     */
+    @PostConstruct
+    public void init() {
+        if (taskExecutor instanceof ThreadPoolTaskExecutor) {
+            monitorExecutor(((ThreadPoolTaskExecutor) taskExecutor).getThreadPoolExecutor(), "applicationTaskExecutor");
+        }
+    }
+
+    /**
+     * Records the duration of a sync phase.
+     *
+     * @param phase      the phase
+     * @param startNanos  the {@link System#nanoTime()} the phase started at
+     */
+    public void recordSyncPhase(String phase, long startNanos) {
+        Timer.builder(SYNC_PHASE_METRIC).tag("phase", phase).publishPercentileHistogram().register(meterRegistry).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a completed kafka send.
+     *
+     * @param topic      the topic
+     * @param startNanos the {@link System#nanoTime()} the send started at
+     * @param succeeded  whether the broker acknowledged the message
+     */
+    public void recordKafkaSend(String topic, long startNanos, boolean succeeded) {
+        Timer.builder(KAFKA_SEND_METRIC).tag("topic", topic).tag("result", succeeded ? "success" : "failure").register(meterRegistry).record(System.nanoTime() - startNanos,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Binds the pool size, active thread and queue depth gauges of the
+     * executor.
+     *
+     * @param executor the executor
+     * @param name     the executor name
+     */
+    public void monitorExecutor(ExecutorService executor, String name) {
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Registers a gauge.
+     *
+     * @param <T>      the type of the measured object
+     * @param name     the gauge name
+     * @param object   the measured object
+     * @param function the function returning the value
+     */
+    public <T> void gauge(String name, T object, ToDoubleFunction<T> function) {
+        meterRegistry.gauge(name, object, function);
+    }
+}
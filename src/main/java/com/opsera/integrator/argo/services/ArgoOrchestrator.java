@@ -1,19 +1,34 @@
 package com.opsera.integrator.argo.services;
 
 import static com.opsera.integrator.argo.resources.Constants.ARGO_GENERATE_TOKEN_API;
+import static com.opsera.integrator.argo.resources.Constants.BULK_ACTION_CREATED;
+import static com.opsera.integrator.argo.resources.Constants.BULK_ACTION_UPDATED;
 import static com.opsera.integrator.argo.resources.Constants.FAILED;
 import static com.opsera.integrator.argo.resources.Constants.INVALID_CONNECTION_DETAILS;
+import static com.opsera.integrator.argo.resources.Constants.SUCCESS;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
 
 import com.opsera.integrator.argo.config.IServiceFactory;
 import com.opsera.integrator.argo.exceptions.ArgoServiceException;
@@ -26,12 +41,16 @@ import com.opsera.integrator.argo.resources.ArgoApplicationMetadataList;
 import com.opsera.integrator.argo.resources.ArgoApplicationOperation;
 import com.opsera.integrator.argo.resources.ArgoApplicationSource;
 import com.opsera.integrator.argo.resources.ArgoApplicationSpec;
-import com.opsera.integrator.argo.resources.ArgoApplicationsList;
 import com.opsera.integrator.argo.resources.ArgoClusterList;
 import com.opsera.integrator.argo.resources.ArgoRepositoriesList;
 import com.opsera.integrator.argo.resources.ArgoRepositoryItem;
 import com.opsera.integrator.argo.resources.ArgoSessionToken;
 import com.opsera.integrator.argo.resources.ArgoToolDetails;
+import com.opsera.integrator.argo.resources.BulkApplicationRequest;
+import com.opsera.integrator.argo.resources.BulkItemResult;
+import com.opsera.integrator.argo.resources.BulkOperationResponse;
+import com.opsera.integrator.argo.resources.BulkProvisionRequest;
+import com.opsera.integrator.argo.resources.BulkProvisionResponse;
 import com.opsera.integrator.argo.resources.CreateApplicationRequest;
 import com.opsera.integrator.argo.resources.CreateCluster;
 import com.opsera.integrator.argo.resources.CreateClusterRequest;
@@ -39,6 +58,7 @@ import com.opsera.integrator.argo.resources.CreateProjectRequest;
 import com.opsera.integrator.argo.resources.CreateRepositoryRequest;
 import com.opsera.integrator.argo.resources.OpseraPipelineMetadata;
 import com.opsera.integrator.argo.resources.Response;
+import com.opsera.integrator.argo.resources.RolloutInstallation;
 import com.opsera.integrator.argo.resources.ToolConfig;
 import com.opsera.integrator.argo.resources.ToolDetails;
 
@@ -58,6 +78,11 @@ public class ArgoOrchestrator {
     @Autowired
     private IServiceFactory serviceFactory;
 
+    /** The rest template of the argo connection pool. */
+    @Autowired
+    @Qualifier("argoRestTemplate")
+    private RestTemplate argoRestTemplate;
+
     /**
      * get all argo applications.
      *
@@ -69,8 +94,7 @@ public class ArgoOrchestrator {
         LOGGER.debug("Starting to fetch All Argo Applications for toolId {} and customerId {}", argoToolId, customerId);
         ArgoToolDetails argoToolDetails = getArgoToolDetailsInline(argoToolId, customerId);
         String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
-        ArgoApplicationsList argoApplicationsList = serviceFactory.getArgoHelper().getAllArgoApplications(argoToolDetails.getConfiguration(), argoPassword);
-        return serviceFactory.getObjectTranslator().translateToArgoApplicationMetadataList(argoApplicationsList);
+        return serviceFactory.getArgoHelper().getAllArgoApplicationsMetadata(argoToolDetails.getConfiguration(), argoPassword);
     }
 
     /**
@@ -98,8 +122,7 @@ public class ArgoOrchestrator {
         LOGGER.debug("Starting to fetch All Argo Projects for toolId {} and customerId {}", argoToolId, customerId);
         ArgoToolDetails argoToolDetails = getArgoToolDetailsInline(argoToolId, customerId);
         String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
-        ArgoApplicationsList argoApplicationsList = serviceFactory.getArgoHelper().getAllArgoProjects(argoToolDetails.getConfiguration(), argoPassword);
-        return serviceFactory.getObjectTranslator().translateToArgoApplicationMetadataList(argoApplicationsList);
+        return serviceFactory.getArgoHelper().getAllArgoProjectsMetadata(argoToolDetails.getConfiguration(), argoPassword);
     }
 
     /**
@@ -147,8 +170,7 @@ public class ArgoOrchestrator {
         if (!StringUtils.isEmpty(argoPassword)) {
             try {
                 argoApplication = serviceFactory.getRequestBuilder().createApplicationRequest(request);
-                ArgoApplicationMetadataList applicationMetadataList = getAllApplications(request.getToolId(), request.getCustomerId());
-                isApplicationExists = applicationMetadataList.getApplicationList().stream().anyMatch(applicationMetadata -> applicationMetadata.getName().equals(request.getApplicationName()));
+                isApplicationExists = serviceFactory.getArgoHelper().applicationExists(request.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword);
                 return createOrUpdateApplication(request, argoToolDetails, argoPassword, isApplicationExists, argoApplication);
             } catch (Exception e) {
                 LOGGER.debug("Application doesn't exists. message: {} ", e.getMessage());
@@ -159,6 +181,82 @@ public class ArgoOrchestrator {
         return null;
     }
 
+    /**
+     * Creates or updates the applications of a bulk request. The tool details
+     * and the argo credentials are resolved once for all the applications.
+     *
+     * @param request the request
+     * @return the result of every application
+     */
+    public BulkOperationResponse createApplications(BulkApplicationRequest request) {
+        LOGGER.debug("Starting to create/update {} applications for toolId {}", null == request.getApplications() ? 0 : request.getApplications().size(), request.getToolId());
+        if (CollectionUtils.isEmpty(request.getApplications())) {
+            throw new InvalidRequestException("No applications given in the bulk request");
+        }
+        ArgoToolDetails argoToolDetails = getArgoToolDetailsInline(request.getToolId(), request.getCustomerId());
+        String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
+        List<BulkItemResult> results = serviceFactory.getArgoBulkExecutor().runAll(argoToolDetails.getConfiguration(), request.getApplications(),
+                application -> applyBulkApplication(request, application, argoToolDetails, argoPassword),
+                (application, e) -> failedBulkItemResult(application.getApplicationName(), e.getMessage()));
+        return toBulkOperationResponse(results);
+    }
+
+    private BulkItemResult applyBulkApplication(BulkApplicationRequest request, CreateApplicationRequest application, ArgoToolDetails argoToolDetails, String argoPassword) {
+        application.setToolId(request.getToolId());
+        application.setCustomerId(request.getCustomerId());
+        return toBulkItemResult(application.getApplicationName(), () -> {
+            ArgoApplicationItem argoApplication = serviceFactory.getRequestBuilder().createApplicationRequest(application);
+            boolean isApplicationExists = serviceFactory.getArgoHelper().applicationExists(application.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword);
+            return new BulkWrite(createOrUpdateApplication(application, argoToolDetails, argoPassword, isApplicationExists, argoApplication),
+                    isApplicationExists ? BULK_ACTION_UPDATED : BULK_ACTION_CREATED);
+        });
+    }
+
+    /**
+     * Runs a single bulk item and turns its outcome into the item result.
+     *
+     * @param name the item name
+     * @param call the argo write
+     * @return the bulk item result
+     */
+    private BulkItemResult toBulkItemResult(String name, Supplier<BulkWrite> call) {
+        BulkItemResult result = new BulkItemResult();
+        result.setName(name);
+        try {
+            BulkWrite write = call.get();
+            result.setStatus(SUCCESS);
+            result.setStatusCode(write.response.getStatusCodeValue());
+            result.setAction(write.action);
+        } catch (HttpStatusCodeException e) {
+            LOGGER.error("Failed to create/update {}. message: {}", name, e.getMessage());
+            result.setStatus(FAILED);
+            result.setStatusCode(e.getRawStatusCode());
+            result.setMessage(e.getResponseBodyAsString());
+        } catch (Exception e) {
+            LOGGER.error("Failed to create/update {}. message: {}", name, e.getMessage());
+            result.setStatus(FAILED);
+            result.setMessage(e.getMessage());
+        }
+        return result;
+    }
+
+    private BulkItemResult failedBulkItemResult(String name, String message) {
+        BulkItemResult result = new BulkItemResult();
+        result.setName(name);
+        result.setStatus(FAILED);
+        result.setMessage(message);
+        return result;
+    }
+
+    private BulkOperationResponse toBulkOperationResponse(List<BulkItemResult> results) {
+        BulkOperationResponse response = new BulkOperationResponse();
+        response.setTotal(results.size());
+        response.setSucceeded((int) results.stream().filter(result -> SUCCESS.equals(result.getStatus())).count());
+        response.setFailed(response.getTotal() - response.getSucceeded());
+        response.setResults(results);
+        return response;
+    }
+
     private ResponseEntity<String> createOrUpdateApplication(CreateApplicationRequest request, ArgoToolDetails argoToolDetails, String argoPassword, boolean isApplicationExists,
             ArgoApplicationItem argoApplication) {
         if (isApplicationExists) {
@@ -178,7 +276,7 @@ public class ArgoOrchestrator {
         LOGGER.debug("To validate the credentials for customerId {} and toolId {}", customerId, argoToolId);
         ArgoToolDetails argoToolDetails = getArgoToolDetailsInline(argoToolId, customerId);
         String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
-        serviceFactory.getArgoHelper().getAllArgoApplications(argoToolDetails.getConfiguration(), argoPassword);
+        serviceFactory.getArgoHelper().getAllArgoApplicationsMetadata(argoToolDetails.getConfiguration(), argoPassword);
     }
 
     /**
@@ -201,7 +299,7 @@ public class ArgoOrchestrator {
             ArgoAccount argoAccount = new ArgoAccount();
             argoAccount.setName(toolId);
             HttpEntity<Object> requestEntity = serviceFactory.getArgoHelper().getRequestEntity(argoToken, argoAccount);
-            ResponseEntity<ArgoAccount> tokenResponse = serviceFactory.getRestTemplate().exchange(url, HttpMethod.POST, requestEntity, ArgoAccount.class);
+            ResponseEntity<ArgoAccount> tokenResponse = argoRestTemplate.exchange(url, HttpMethod.POST, requestEntity, ArgoAccount.class);
             if (tokenResponse.hasBody()) {
                 return tokenResponse.getBody().getToken();
             }
@@ -253,31 +351,37 @@ public class ArgoOrchestrator {
         String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
         ToolDetails credentialToolDetails = serviceFactory.getConfigCollector().getToolDetails(request.getGitToolId(), request.getCustomerId());
         if (null != credentialToolDetails) {
-            String repositoryUrl = "";
-            ToolConfig toolConfig = credentialToolDetails.getConfiguration();
-            String credentialSecret = null;
-            if (toolConfig.isTwoFactorAuthentication()) {
-                credentialSecret = toolConfig.getSecretPrivateKey().getVaultKey();
-                repositoryUrl = request.getSshUrl();
-            } else {
-                credentialSecret = toolConfig.getAccountPassword().getVaultKey();
-                repositoryUrl = request.getHttpsUrl();
-            }
-            String secret = serviceFactory.getVaultHelper().getSecret(credentialToolDetails.getOwner(), credentialSecret, credentialToolDetails.getVault());
-            ArgoRepositoryItem argoApplication = serviceFactory.getRequestBuilder().createRepositoryRequest(request, credentialToolDetails, secret);
-            try {
-                ArgoRepositoryItem applicationItem = getRepository(request.getToolId(), request.getCustomerId(), repositoryUrl, argoToolDetails, argoPassword);
-                if (null != applicationItem && applicationItem.getConnectionState().getStatus().equalsIgnoreCase(FAILED)) {
-                    return serviceFactory.getArgoHelper().createRepository(argoApplication, argoToolDetails.getConfiguration(), argoPassword);
-                } else {
-                    return serviceFactory.getArgoHelper().updateRepository(argoApplication, argoToolDetails.getConfiguration(), argoPassword);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Repository doesn't exists in the Argo. message: {}", e.getMessage());
+            String secret = getGitCredentialSecret(credentialToolDetails);
+            return createOrUpdateRepository(request, credentialToolDetails, secret, argoToolDetails, argoPassword);
+        }
+        return null;
+    }
+
+    private String getGitCredentialSecret(ToolDetails credentialToolDetails) {
+        ToolConfig toolConfig = credentialToolDetails.getConfiguration();
+        String credentialSecret = toolConfig.isTwoFactorAuthentication() ? toolConfig.getSecretPrivateKey().getVaultKey() : toolConfig.getAccountPassword().getVaultKey();
+        return serviceFactory.getVaultHelper().getSecret(credentialToolDetails.getOwner(), credentialSecret, credentialToolDetails.getVault());
+    }
+
+    private String getRepositoryUrl(CreateRepositoryRequest request, ToolDetails credentialToolDetails) {
+        return credentialToolDetails.getConfiguration().isTwoFactorAuthentication() ? request.getSshUrl() : request.getHttpsUrl();
+    }
+
+    private ResponseEntity<String> createOrUpdateRepository(CreateRepositoryRequest request, ToolDetails credentialToolDetails, String secret, ArgoToolDetails argoToolDetails,
+            String argoPassword) {
+        String repositoryUrl = getRepositoryUrl(request, credentialToolDetails);
+        ArgoRepositoryItem argoApplication = serviceFactory.getRequestBuilder().createRepositoryRequest(request, credentialToolDetails, secret);
+        try {
+            ArgoRepositoryItem applicationItem = getRepository(request.getToolId(), request.getCustomerId(), repositoryUrl, argoToolDetails, argoPassword);
+            if (null != applicationItem && applicationItem.getConnectionState().getStatus().equalsIgnoreCase(FAILED)) {
                 return serviceFactory.getArgoHelper().createRepository(argoApplication, argoToolDetails.getConfiguration(), argoPassword);
+            } else {
+                return serviceFactory.getArgoHelper().updateRepository(argoApplication, argoToolDetails.getConfiguration(), argoPassword);
             }
+        } catch (Exception e) {
+            LOGGER.error("Repository doesn't exists in the Argo. message: {}", e.getMessage());
+            return serviceFactory.getArgoHelper().createRepository(argoApplication, argoToolDetails.getConfiguration(), argoPassword);
         }
-        return null;
     }
 
     /**
@@ -344,10 +448,12 @@ public class ArgoOrchestrator {
         LOGGER.debug("To Starting to create/update the project {} ", request);
         ArgoToolDetails argoToolDetails = getArgoToolDetailsInline(request.getToolId(), request.getCustomerId());
         String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
-        ArgoApplicationMetadataList applicationMetadataList = getAllProjects(request.getToolId(), request.getCustomerId());
+        boolean isProjectExists = serviceFactory.getArgoHelper().projectExists(request.getProject().getMetadata().getName(), argoToolDetails.getConfiguration(), argoPassword);
+        return createOrUpdateProject(request, argoToolDetails, argoPassword, isProjectExists);
+    }
+
+    private ResponseEntity<String> createOrUpdateProject(CreateProjectRequest request, ArgoToolDetails argoToolDetails, String argoPassword, boolean isProjectExists) {
         serviceFactory.getRequestBuilder().createProjectRequest(request);
-        boolean isProjectExists = applicationMetadataList.getApplicationList().stream()
-                .anyMatch(applicationMetadata -> applicationMetadata.getName().equals(request.getProject().getMetadata().getName()));
         if (isProjectExists) {
             ArgoApplicationItem projectItem = getArgoProject(argoToolDetails, request.getProject().getMetadata().getName(), argoPassword);
             CreateProjectRequest updateProjectRequest = serviceFactory.getRequestBuilder().updateProjectRequest(projectItem, request);
@@ -357,6 +463,103 @@ public class ArgoOrchestrator {
         }
     }
 
+    /**
+     * Provisions the repositories and projects of a bulk request. The argo
+     * credentials are resolved once, the git tool details and secrets once per
+     * git tool, and all the argo writes run concurrently.
+     *
+     * @param request the request
+     * @return the result of every repository and project
+     */
+    public BulkProvisionResponse provision(BulkProvisionRequest request) {
+        List<CreateRepositoryRequest> repositories = null == request.getRepositories() ? Collections.emptyList() : request.getRepositories();
+        List<CreateProjectRequest> projects = null == request.getProjects() ? Collections.emptyList() : request.getProjects();
+        LOGGER.debug("Starting to provision {} repositories and {} projects for toolId {}", repositories.size(), projects.size(), request.getToolId());
+        if (repositories.isEmpty() && projects.isEmpty()) {
+            throw new InvalidRequestException("No repositories or projects given in the bulk request");
+        }
+        ArgoToolDetails argoToolDetails = getArgoToolDetailsInline(request.getToolId(), request.getCustomerId());
+        String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
+        Map<String, GitCredential> gitCredentials = new HashMap<>();
+        repositories.stream().filter(repository -> null != repository)
+                .forEach(repository -> gitCredentials.computeIfAbsent(repository.getGitToolId(), gitToolId -> resolveGitCredential(gitToolId, request.getCustomerId())));
+        List<Supplier<BulkItemResult>> tasks = new ArrayList<>(repositories.size() + projects.size());
+        List<String> names = new ArrayList<>(repositories.size() + projects.size());
+        for (int i = 0; i < repositories.size(); i++) {
+            CreateRepositoryRequest repository = repositories.get(i);
+            String name = getBulkRepositoryName(repository, i);
+            tasks.add(() -> applyBulkRepository(request, repository, name, gitCredentials.get(repository.getGitToolId()), argoToolDetails, argoPassword));
+            names.add(name);
+        }
+        for (int i = 0; i < projects.size(); i++) {
+            CreateProjectRequest project = projects.get(i);
+            String name = getBulkProjectName(project, i);
+            tasks.add(() -> applyBulkProject(request, project, name, argoToolDetails, argoPassword));
+            names.add(name);
+        }
+        List<Integer> indexes = IntStream.range(0, tasks.size()).boxed().collect(Collectors.toList());
+        List<BulkItemResult> results = serviceFactory.getArgoBulkExecutor().runAll(argoToolDetails.getConfiguration(), indexes, index -> tasks.get(index).get(),
+                (index, e) -> failedBulkItemResult(names.get(index), e.getMessage()));
+        BulkProvisionResponse response = new BulkProvisionResponse();
+        response.setRepositories(toBulkOperationResponse(results.subList(0, repositories.size())));
+        response.setProjects(toBulkOperationResponse(results.subList(repositories.size(), results.size())));
+        return response;
+    }
+
+    private GitCredential resolveGitCredential(String gitToolId, String customerId) {
+        GitCredential gitCredential = new GitCredential();
+        try {
+            gitCredential.toolDetails = serviceFactory.getConfigCollector().getToolDetails(gitToolId, customerId);
+            if (null == gitCredential.toolDetails) {
+                gitCredential.error = String.format("Git tool %s not found", gitToolId);
+            } else {
+                gitCredential.secret = getGitCredentialSecret(gitCredential.toolDetails);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to resolve the credentials of git tool {}. message: {}", gitToolId, e.getMessage());
+            gitCredential.error = e.getMessage();
+        }
+        return gitCredential;
+    }
+
+    private BulkItemResult applyBulkRepository(BulkProvisionRequest request, CreateRepositoryRequest repository, String name, GitCredential gitCredential,
+            ArgoToolDetails argoToolDetails, String argoPassword) {
+        repository.setToolId(request.getToolId());
+        repository.setCustomerId(request.getCustomerId());
+        if (null != gitCredential.error) {
+            return failedBulkItemResult(name, gitCredential.error);
+        }
+        return toBulkItemResult(getRepositoryUrl(repository, gitCredential.toolDetails),
+                () -> new BulkWrite(createOrUpdateRepository(repository, gitCredential.toolDetails, gitCredential.secret, argoToolDetails, argoPassword), null));
+    }
+
+    private BulkItemResult applyBulkProject(BulkProvisionRequest request, CreateProjectRequest project, String name, ArgoToolDetails argoToolDetails, String argoPassword) {
+        project.setToolId(request.getToolId());
+        project.setCustomerId(request.getCustomerId());
+        return toBulkItemResult(name, () -> {
+            if (null == project.getProject() || null == project.getProject().getMetadata() || StringUtils.isEmpty(project.getProject().getMetadata().getName())) {
+                throw new InvalidRequestException("No project name given");
+            }
+            boolean isProjectExists = serviceFactory.getArgoHelper().projectExists(project.getProject().getMetadata().getName(), argoToolDetails.getConfiguration(), argoPassword);
+            return new BulkWrite(createOrUpdateProject(project, argoToolDetails, argoPassword, isProjectExists), isProjectExists ? BULK_ACTION_UPDATED : BULK_ACTION_CREATED);
+        });
+    }
+
+    private static String getBulkRepositoryName(CreateRepositoryRequest repository, int index) {
+        if (null == repository) {
+            return "repositories[" + index + "]";
+        }
+        String url = null != repository.getHttpsUrl() ? repository.getHttpsUrl() : repository.getSshUrl();
+        return null != url ? url : "repositories[" + index + "]";
+    }
+
+    private static String getBulkProjectName(CreateProjectRequest project, int index) {
+        if (null == project || null == project.getProject() || null == project.getProject().getMetadata() || StringUtils.isEmpty(project.getProject().getMetadata().getName())) {
+            return "projects[" + index + "]";
+        }
+        return project.getProject().getMetadata().getName();
+    }
+
     /**
      * Gets the argo project.
      *
@@ -452,11 +655,17 @@ public class ArgoOrchestrator {
         try {
             if (request.getNamespace().equalsIgnoreCase("argo-rollouts")) {
                 serviceFactory.getRequestBuilder().createNamespace(request);
-                serviceFactory.getRequestBuilder().execKubectlOnPod(request);
+                RolloutInstallation installation = serviceFactory.getRequestBuilder().execKubectlOnPod(request);
+                if (Boolean.TRUE.equals(installation.getJoined())) {
+                    return Response.builder().message(String.format("argo-rollouts installation for b/g deployments is already %s", installation.getStatus().toLowerCase())).status("success")
+                            .build();
+                }
                 return Response.builder().message("Initiated argo-rollouts installation successfully for b/g deployments").status("success").build();
             } else {
                 serviceFactory.getRequestBuilder().createNamespace(request);
             }
+        } catch (ArgoServiceException e) {
+            throw e;
         } catch (Exception e) {
             throw new ArgoServiceException(e.getMessage());
         }
@@ -478,4 +687,32 @@ public class ArgoOrchestrator {
         String argoPassword = getArgoSecretTokenOrPassword(argoToolDetails);
         return serviceFactory.getArgoHelper().getAppdetails(argoToolDetails.getConfiguration(), argoPassword, spec);
     }
+
+    /**
+     * The resolved credentials of a git tool.
+     */
+    private static final class GitCredential {
+
+        private ToolDetails toolDetails;
+
+        private String secret;
+
+        private String error;
+    }
+
+    /**
+     * The outcome of an argo write of a bulk request.
+     */
+    private static final class BulkWrite {
+
+        private final ResponseEntity<String> response;
+
+        /** Whether the resource was created or updated, null when unknown. */
+        private final String action;
+
+        private BulkWrite(ResponseEntity<String> response, String action) {
+            this.response = response;
+            this.action = action;
+        }
+    }
 }
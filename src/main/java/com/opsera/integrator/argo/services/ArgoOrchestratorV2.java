@@ -31,12 +31,23 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -48,6 +59,7 @@ import com.opsera.integrator.argo.resources.ArgoApplicationItem;
 import com.opsera.integrator.argo.resources.ArgoApplicationSource;
 import com.opsera.integrator.argo.resources.ArgoOperationState;
 import com.opsera.integrator.argo.resources.ArgoSyncOperation;
+import com.opsera.integrator.argo.resources.ArgoSyncWatchState;
 import com.opsera.integrator.argo.resources.ArgoToolDetails;
 import com.opsera.integrator.argo.resources.DataTransformerModel;
 import com.opsera.integrator.argo.resources.Info;
@@ -70,64 +82,229 @@ public class ArgoOrchestratorV2 {
     @Autowired
     private TaskExecutor taskExecutor;
 
+    /** The number of threads running the pre-sync lookups. */
+    @Value("${argo.sync.lookup.threads}")
+    private int lookupThreads;
+
+    /** The number of pre-sync lookups that can wait for a thread. */
+    @Value("${argo.sync.lookup.queueCapacity}")
+    private int lookupQueueCapacity;
+
+    /** The max size of a console log chunk sent to kafka. */
+    @Value("${argo.log.chunkMaxChars}")
+    private int logChunkMaxChars;
+
+    /** The number of lines read from the end of the pod logs, 0 for all. */
+    @Value("${argo.log.tailLines}")
+    private long logTailLines;
+
+    /** Only the pod log lines of the last seconds, 0 for all. */
+    @Value("${argo.log.sinceSeconds}")
+    private long logSinceSeconds;
+
+    /** The number of threads reading pod logs. */
+    @Value("${argo.log.threads}")
+    private int logThreads;
+
+    /** The max number of pod logs read at once from a single argo server. */
+    @Value("${argo.log.maxConcurrentPerServer}")
+    private int logMaxConcurrentPerServer;
+
+    /** The max number of pod logs waiting for a single argo server, and for a log thread. */
+    @Value("${argo.log.queueCapacity}")
+    private int logQueueCapacity;
+
+    /** The executor of the pre-sync lookups. */
+    private ExecutorService lookupExecutor;
+
+    /** The executor reading the pod logs. */
+    private ExecutorService logExecutor;
+
+    /** Caps the pod logs read at once from each argo server. */
+    private ServerConcurrencyLimiter logLimiter;
+
+    /**
+     * Inits the executors of the pre-sync lookups and the pod logs.
+     */
+    @PostConstruct
+    public void init() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(lookupThreads, lookupThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(lookupQueueCapacity),
+                new CustomizableThreadFactory("ArgoSyncLookup-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        lookupExecutor = executor;
+        serviceFactory.getArgoMetrics().monitorExecutor(lookupExecutor, "argoSyncLookupExecutor");
+        ThreadPoolExecutor podLogExecutor = new ThreadPoolExecutor(logThreads, logThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(logQueueCapacity),
+                new CustomizableThreadFactory("ArgoPodLog-"));
+        podLogExecutor.allowCoreThreadTimeOut(true);
+        logExecutor = podLogExecutor;
+        logLimiter = new ServerConcurrencyLimiter(logExecutor, logMaxConcurrentPerServer, logQueueCapacity);
+        serviceFactory.getArgoMetrics().monitorExecutor(logExecutor, "argoPodLogExecutor");
+        serviceFactory.getArgoMetrics().gauge("argo.log.waiting", logLimiter, ServerConcurrencyLimiter::getWaitingCount);
+    }
+
+    /**
+     * Stops the executors of the pre-sync lookups and the pod logs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdown();
+        logExecutor.shutdown();
+    }
+
+    /**
+     * Syncs the argo application of the pipeline step. The step config is
+     * requested with the run count, the tool details, the argo password and
+     * the application follow as soon as what they depend on is there.
+     *
+     * @param pipelineMetadata the pipeline metadata
+     */
     public void syncApplication(OpseraPipelineMetadata pipelineMetadata) {
+        long startNanos = System.nanoTime();
         try {
             LOGGER.debug("Starting to Sync Argo Application for the request {}", pipelineMetadata);
-            pipelineMetadata.setRunCount(getRunCount(pipelineMetadata));
-            ToolConfig argoToolConfig = serviceFactory.getConfigCollector().getArgoDetails(pipelineMetadata);
-            ArgoToolDetails argoToolDetails = serviceFactory.getConfigCollector().getArgoDetails(argoToolConfig.getToolConfigId(), pipelineMetadata.getCustomerId());
-            String argoPassword = getArgoToolPassword(argoToolDetails);
-            if (argoToolConfig.isKustomizeFlag() && !StringUtils.isEmpty(argoToolConfig.getImageUrl())) {
-                setKustomizeDetails(pipelineMetadata, argoToolConfig, argoToolDetails, argoPassword);
-            }
-            if (argoToolConfig.isDynamicVariables() && (!StringUtils.isEmpty(argoToolConfig.getApplicationCluster()) || !StringUtils.isEmpty(argoToolConfig.getYamlPath()))) {
-                ArgoApplicationItem appItem = serviceFactory.getArgoOrchestrator().getApplication(argoToolConfig.getToolConfigId(), argoToolDetails.getOwner(), argoToolConfig.getApplicationName());
-                if (!StringUtils.isEmpty(argoToolConfig.getApplicationCluster())) {
-                    appItem.getSpec().getDestination().setServer(argoToolConfig.getApplicationCluster());
+            OpseraPipelineMetadata stepRequest = serviceFactory.gson().fromJson(serviceFactory.gson().toJson(pipelineMetadata), OpseraPipelineMetadata.class);
+            CompletableFuture<Integer> runCountFuture = CompletableFuture.supplyAsync(() -> getRunCount(pipelineMetadata), lookupExecutor);
+            CompletableFuture<ToolConfig> toolConfigFuture = runCountFuture.thenApplyAsync(runCount -> {
+                stepRequest.setRunCount(runCount);
+                return serviceFactory.getConfigCollector().getArgoDetails(stepRequest);
+            }, lookupExecutor);
+            CompletableFuture<ArgoToolDetails> toolDetailsFuture = toolConfigFuture
+                    .thenApplyAsync(toolConfig -> serviceFactory.getConfigCollector().getArgoDetails(toolConfig.getToolConfigId(), pipelineMetadata.getCustomerId()), lookupExecutor);
+            CompletableFuture<String> passwordFuture = toolDetailsFuture.thenApplyAsync(this::getArgoToolPassword, lookupExecutor);
+            // the tool config and details are complete once the password is
+            CompletableFuture<ArgoApplicationItem> appItemFuture = passwordFuture.thenApplyAsync(password -> {
+                ToolConfig toolConfig = toolConfigFuture.join();
+                if (!isKustomizeUpdate(toolConfig) && !isDynamicVariablesUpdate(toolConfig)) {
+                    return null;
                 }
-                if (!StringUtils.isEmpty(argoToolConfig.getYamlPath())) {
-                    appItem.getSpec().getSource().setPath(argoToolConfig.getYamlPath());
+                return serviceFactory.getArgoHelper().getArgoApplication(toolConfig.getApplicationName(), toolDetailsFuture.join().getConfiguration(), password);
+            }, lookupExecutor);
+            pipelineMetadata.setRunCount(join(runCountFuture));
+            ToolConfig argoToolConfig = join(toolConfigFuture);
+            ArgoToolDetails argoToolDetails = join(toolDetailsFuture);
+            String argoPassword = join(passwordFuture);
+            ArgoApplicationItem appItem = join(appItemFuture);
+            if (null != appItem) {
+                boolean specUpdated = isKustomizeUpdate(argoToolConfig) && setKustomizeDetails(appItem, argoToolConfig, argoToolDetails, argoPassword);
+                if (isDynamicVariablesUpdate(argoToolConfig)) {
+                    if (!StringUtils.isEmpty(argoToolConfig.getApplicationCluster())) {
+                        appItem.getSpec().getDestination().setServer(argoToolConfig.getApplicationCluster());
+                    }
+                    if (!StringUtils.isEmpty(argoToolConfig.getYamlPath())) {
+                        appItem.getSpec().getSource().setPath(argoToolConfig.getYamlPath());
+                    }
+                    specUpdated = true;
                 }
-                if (!CollectionUtils.isEmpty(appItem.getStatus().getHistory())) {
-                    appItem.getStatus().getHistory().clear();
+                if (specUpdated) {
+                    if (!CollectionUtils.isEmpty(appItem.getStatus().getHistory())) {
+                        appItem.getStatus().getHistory().clear();
+                    }
+                    serviceFactory.getArgoHelper().updateApplication(appItem, argoToolDetails.getConfiguration(), argoPassword, argoToolConfig.getApplicationName());
                 }
-                serviceFactory.getArgoHelper().updateApplication(appItem, argoToolDetails.getConfiguration(), argoPassword, argoToolConfig.getApplicationName());
             }
+            serviceFactory.getArgoMetrics().recordSyncPhase(ArgoMetrics.SYNC_PHASE_PRE_SYNC, startNanos);
+            long syncCallStartNanos = System.nanoTime();
             ArgoApplicationItem applicationItem = serviceFactory.getArgoHelper().syncApplication(argoToolConfig.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword);
+            serviceFactory.getArgoMetrics().recordSyncPhase(ArgoMetrics.SYNC_PHASE_SYNC_CALL, syncCallStartNanos);
             pipelineMetadata.setStatus(RUNNING);
             pipelineMetadata.setMessage(SYNC_IN_PROGRESS);
             serviceFactory.getKafkaHelper().postNotificationToKafkaService(KafkaTopics.OPSERA_PIPELINE_REPONSE, serviceFactory.gson().toJson(pipelineMetadata));
-            Thread.sleep(10000);
-            checkOperationStatus(pipelineMetadata, applicationItem, argoToolDetails, argoToolConfig, argoPassword, 0);
+            serviceFactory.getArgoSyncStatusWatcher().watch(ArgoSyncWatchState.builder().pipelineMetadata(pipelineMetadata).applicationItem(applicationItem).argoToolDetails(argoToolDetails)
+                    .argoToolConfig(argoToolConfig).argoPassword(argoPassword).syncStartedAt(getOperationStartedAt(applicationItem)).watchStartedAt(System.nanoTime()).build());
         } catch (Exception ex) {
             LOGGER.error("Exception Occurred while processing sync request: {}, exception: {}", pipelineMetadata, ex);
             CompletableFuture.runAsync(() -> sendErrorResponseToKafka(pipelineMetadata, ex.getMessage()));
-            Thread.currentThread().interrupt();
         }
     }
 
-    private Object checkOperationStatus(OpseraPipelineMetadata pipelineMetadata, ArgoApplicationItem applicationItem, ArgoToolDetails argoToolDetails, ToolConfig argoToolConfig, String argoPassword,
-            long retryCount) throws InterruptedException {
-        ArgoApplicationItem applicationItemOperation = serviceFactory.getArgoHelper().syncApplicationOperation(argoToolConfig.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword);
+    /**
+     * Runs a single status poll of the watched sync and sends the matching
+     * kafka notifications. The latest state received from the event stream is
+     * used when there is one, otherwise the application is fetched from argo.
+     *
+     * @param watchState the watch state
+     * @return true if the sync has to be polled again
+     */
+    public boolean checkOperationStatus(ArgoSyncWatchState watchState) {
+        if (watchState.isCompleted()) {
+            return false;
+        }
+        ArgoApplicationItem applicationItemOperation = watchState.getStreamedItem();
+        if (null == applicationItemOperation) {
+            applicationItemOperation = serviceFactory.getArgoHelper().syncApplicationOperation(watchState.getArgoToolConfig().getApplicationName(),
+                    watchState.getArgoToolDetails().getConfiguration(), watchState.getArgoPassword());
+        }
+        return evaluateOperationStatus(watchState, applicationItemOperation, true);
+    }
+
+    /**
+     * Handles an event of the argo application stream for the watched sync.
+     * Events still carrying the operation state that was there before the sync
+     * are ignored. The sync is completed as soon as the event reports a final
+     * phase, the retries and timeouts are left to the status polls.
+     *
+     * @param watchState      the watch state
+     * @param applicationItem the application item
+     */
+    public void handleStreamEvent(ArgoSyncWatchState watchState, ArgoApplicationItem applicationItem) {
+        String startedAt = getOperationStartedAt(applicationItem);
+        if (watchState.isCompleted() || null == startedAt || startedAt.equals(watchState.getSyncStartedAt())) {
+            return;
+        }
+        watchState.setStreamedAt(System.currentTimeMillis());
+        watchState.setStreamedItem(applicationItem);
+        evaluateOperationStatus(watchState, applicationItem, false);
+    }
+
+    /**
+     * Marks the watched sync as completed and records how long it took.
+     *
+     * @param watchState the watch state
+     * @return true if the sync was not completed before
+     */
+    private boolean markCompleted(ArgoSyncWatchState watchState) {
+        if (!watchState.markCompleted()) {
+            return false;
+        }
+        serviceFactory.getArgoMetrics().recordSyncPhase(ArgoMetrics.SYNC_PHASE_WAIT_FOR_COMPLETION, watchState.getWatchStartedAt());
+        return true;
+    }
+
+    private boolean evaluateOperationStatus(ArgoSyncWatchState watchState, ArgoApplicationItem applicationItemOperation, boolean pollTick) {
+        OpseraPipelineMetadata pipelineMetadata = watchState.getPipelineMetadata();
+        ArgoApplicationItem applicationItem = watchState.getApplicationItem();
+        ArgoToolDetails argoToolDetails = watchState.getArgoToolDetails();
+        ToolConfig argoToolConfig = watchState.getArgoToolConfig();
+        String argoPassword = watchState.getArgoPassword();
         ArgoSyncOperation operationSync = applicationItemOperation.getStatus().getSync();
         ArgoOperationState operationState = applicationItemOperation.getStatus().getOperationState();
         if (null != operationState.getPhase() && operationState.getPhase().equalsIgnoreCase(RUNNING)) {
-            if (20 > retryCount) {
-                Thread.sleep(30000);
-                retryCount = retryCount + 1;
-                return checkOperationStatus(pipelineMetadata, applicationItem, argoToolDetails, argoToolConfig, argoPassword, retryCount);
+            if (!pollTick) {
+                return true;
+            }
+            if (20 > watchState.getRetryCount()) {
+                watchState.setRetryCount(watchState.getRetryCount() + 1);
+                return true;
+            }
+            if (!markCompleted(watchState)) {
+                return false;
             }
             CompletableFuture.runAsync(() -> sendErrorResponseToKafka(pipelineMetadata, SYNC_TAKING_LONG_TIME), taskExecutor);
         } else if (null != operationState.getPhase() && operationState.getPhase().equalsIgnoreCase(SUCCEEDED)) {
             String message = operationState.getMessage();
             if (operationSync.getStatus().equalsIgnoreCase(OUT_OF_SYNC) && !argoToolConfig.isBlueGreenDeployment()) {
-                if (10 > retryCount) {
-                    Thread.sleep(30000);
-                    retryCount = retryCount + 1;
-                    return checkOperationStatus(pipelineMetadata, applicationItem, argoToolDetails, argoToolConfig, argoPassword, retryCount);
+                if (!pollTick) {
+                    return true;
+                }
+                if (10 > watchState.getRetryCount()) {
+                    watchState.setRetryCount(watchState.getRetryCount() + 1);
+                    return true;
                 }
                 message = OUT_OF_SYNC_AND_STATUS_SUCCEEDED;
             }
+            if (!markCompleted(watchState)) {
+                return false;
+            }
             pipelineMetadata.setStatus(SUCCESS);
             pipelineMetadata.setMessage(operationState.getMessage());
             serviceFactory.getKafkaHelper().postNotificationToKafkaService(KafkaTopics.OPSERA_PIPELINE_REPONSE, serviceFactory.gson().toJson(pipelineMetadata));
@@ -135,17 +312,34 @@ public class ArgoOrchestratorV2 {
             pipelineMetadata.setMessage(message);
             serviceFactory.getKafkaHelper().postNotificationToKafkaService(KafkaTopics.OPSERA_PIPELINE_STATUS, serviceFactory.gson().toJson(pipelineMetadata));
             LOGGER.debug("Completed sending success to kafka {}", pipelineMetadata);
-            Thread.sleep(60000);
-            publishResponseToDataTransformer(pipelineMetadata);
-            CompletableFuture.runAsync(() -> streamConsoleLogAsync(pipelineMetadata, applicationItem, argoToolDetails, argoToolConfig, argoPassword), taskExecutor);
+            serviceFactory.getArgoSyncStatusWatcher().afterSyncCompleted(() -> {
+                publishResponseToDataTransformer(pipelineMetadata);
+                CompletableFuture.runAsync(() -> streamConsoleLogAsync(pipelineMetadata, applicationItem, argoToolDetails, argoToolConfig, argoPassword), taskExecutor);
+            });
         } else if (null != operationState.getPhase() && operationState.getPhase().equalsIgnoreCase(ERROR) || operationState.getPhase().equalsIgnoreCase(FAILED)) {
+            if (!markCompleted(watchState)) {
+                return false;
+            }
             CompletableFuture.runAsync(() -> sendErrorResponseToKafka(pipelineMetadata, !StringUtils.isEmpty(operationState.getMessage()) ? operationState.getMessage() : operationSync.getStatus()),
                     taskExecutor);
         } else {
+            if (!pollTick) {
+                return true;
+            }
+            if (!markCompleted(watchState)) {
+                return false;
+            }
             CompletableFuture.runAsync(() -> sendErrorResponseToKafka(pipelineMetadata, !StringUtils.isEmpty(operationState.getMessage()) ? operationState.getMessage() : UNKNOWN_STATE_RECEIVED),
                     taskExecutor);
         }
-        return "status check completed";
+        return false;
+    }
+
+    private String getOperationStartedAt(ArgoApplicationItem applicationItem) {
+        if (null == applicationItem || null == applicationItem.getStatus() || null == applicationItem.getStatus().getOperationState()) {
+            return null;
+        }
+        return applicationItem.getStatus().getOperationState().getStartedAt();
     }
 
     public Object sendErrorResponseToKafka(OpseraPipelineMetadata opseraPipelineMetadata, String message) {
@@ -167,23 +361,24 @@ public class ArgoOrchestratorV2 {
     }
 
     private void streamConsoleLogAsync(OpseraPipelineMetadata pipelineMetadata, ArgoApplicationItem applicationItem, ArgoToolDetails argoToolDetails, ToolConfig argoToolConfig, String argoPassword) {
+        long startNanos = System.nanoTime();
+        AtomicInteger chunkSequence = new AtomicInteger();
         try {
             ResourceTree resourceTree = serviceFactory.getArgoHelper().getResourceTree(argoToolConfig.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword);
             List<String> podNames = getRunningPodList(resourceTree.getNodes(), pipelineMetadata);
             Set<String> uniquePodNames = new HashSet<>(podNames);
             if (!CollectionUtils.isEmpty(uniquePodNames)) {
-                for (String podName : uniquePodNames) {
-                    String logs = serviceFactory.getArgoHelper().getArgoApplicationLog(argoToolConfig.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword, podName,
-                            pipelineMetadata.getNamespace());
-                    if (!StringUtils.isEmpty(logs)) {
-                        pipelineMetadata.setMessage(String.format("Retrieved application sync logs for the pod %s successfully", podName));
-                        pipelineMetadata.setPodName(podName);
-                        pipelineMetadata.setConsoleLog(logs);
-                        pipelineMetadata.setStatus(RUNNING);
-                        serviceFactory.getKafkaHelper().postNotificationToKafkaService(KafkaTopics.OPSERA_PIPELINE_CONSOLE_LOG, serviceFactory.gson().toJson(pipelineMetadata));
-                        Thread.sleep(5000);
-                    }
-                }
+                String podRequest = serviceFactory.gson().toJson(pipelineMetadata);
+                List<CompletableFuture<Boolean>> podLogs = uniquePodNames.stream().map(podName -> logLimiter.submit(argoToolDetails.getConfiguration().getToolURL(), () -> {
+                    OpseraPipelineMetadata podMetadata = serviceFactory.gson().fromJson(podRequest, OpseraPipelineMetadata.class);
+                    return retrievePodLog(podMetadata, argoToolDetails, argoToolConfig, argoPassword, podName, chunkSequence);
+                })).collect(Collectors.toList());
+                long failedPods = podLogs.stream().map(podLog -> podLog.exceptionally(e -> {
+                    LOGGER.warn("Skipped a pod log of the request {}. message: {}", pipelineMetadata, e.getMessage());
+                    return false;
+                }).join()).filter(retrieved -> !retrieved).count();
+                pipelineMetadata.setMessage(failedPods == 0 ? String.format("Retrieved application sync logs for %d pods successfully", uniquePodNames.size())
+                        : String.format("Unable to Retrieve pod logs for %d of %d pods", failedPods, uniquePodNames.size()));
             } else {
                 pipelineMetadata.setMessage("Unable to Retrieve pod logs for the sync");
             }
@@ -193,7 +388,54 @@ public class ArgoOrchestratorV2 {
         }
         pipelineMetadata.setStatus(COMPLETED);
         pipelineMetadata.setConsoleLog("");
+        pipelineMetadata.setChunkSequence(chunkSequence.incrementAndGet());
+        serviceFactory.getKafkaHelper().postNotificationToKafkaService(KafkaTopics.OPSERA_PIPELINE_CONSOLE_LOG, serviceFactory.gson().toJson(pipelineMetadata));
+        serviceFactory.getArgoMetrics().recordSyncPhase(ArgoMetrics.SYNC_PHASE_LOG_STREAMING, startNanos);
+    }
+
+    /**
+     * Streams the log of the pod.
+     *
+     * @return true, if the log was retrieved
+     */
+    private boolean retrievePodLog(OpseraPipelineMetadata podMetadata, ArgoToolDetails argoToolDetails, ToolConfig argoToolConfig, String argoPassword, String podName,
+            AtomicInteger chunkSequence) {
+        try {
+            streamPodLog(podMetadata, argoToolDetails, argoToolConfig, argoPassword, podName, chunkSequence);
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn("Exception occured while streaming the logs of pod {} for the request {}. message: {}", podName, podMetadata, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Streams the log of the pod to kafka in chunks of bounded size, each
+     * chunk is sent as soon as it is full.
+     */
+    private void streamPodLog(OpseraPipelineMetadata pipelineMetadata, ArgoToolDetails argoToolDetails, ToolConfig argoToolConfig, String argoPassword, String podName,
+            AtomicInteger chunkSequence) {
+        StringBuilder chunk = new StringBuilder();
+        serviceFactory.getArgoHelper().streamArgoApplicationLog(argoToolConfig.getApplicationName(), argoToolDetails.getConfiguration(), argoPassword, podName,
+                pipelineMetadata.getNamespace(), logTailLines > 0 ? logTailLines : null, logSinceSeconds > 0 ? logSinceSeconds : null, false, line -> {
+                    chunk.append(line).append(System.lineSeparator());
+                    if (chunk.length() >= logChunkMaxChars) {
+                        sendLogChunk(pipelineMetadata, podName, chunk, chunkSequence);
+                    }
+                });
+        if (chunk.length() > 0) {
+            sendLogChunk(pipelineMetadata, podName, chunk, chunkSequence);
+        }
+    }
+
+    private void sendLogChunk(OpseraPipelineMetadata pipelineMetadata, String podName, StringBuilder chunk, AtomicInteger chunkSequence) {
+        pipelineMetadata.setMessage(String.format("Retrieved application sync logs for the pod %s successfully", podName));
+        pipelineMetadata.setPodName(podName);
+        pipelineMetadata.setConsoleLog(chunk.toString());
+        pipelineMetadata.setStatus(RUNNING);
+        pipelineMetadata.setChunkSequence(chunkSequence.incrementAndGet());
         serviceFactory.getKafkaHelper().postNotificationToKafkaService(KafkaTopics.OPSERA_PIPELINE_CONSOLE_LOG, serviceFactory.gson().toJson(pipelineMetadata));
+        chunk.setLength(0);
     }
 
     private List<String> getRunningPodList(List<Node> nodes, OpseraPipelineMetadata pipelineMetadata) {
@@ -325,8 +567,11 @@ public class ArgoOrchestratorV2 {
     private void publishResponseToDataTransformer(OpseraPipelineMetadata pipelineMetadata) {
         LOGGER.info("Started publishing sync details to Data transformer. pipelineId: {}, stepId: {}, runCount: {}", pipelineMetadata.getPipelineId(), pipelineMetadata.getStepId(),
                 pipelineMetadata.getRunCount());
+        long startNanos = System.nanoTime();
         try {
-            pipelineMetadata.setRunCount(getRunCount(pipelineMetadata));
+            if (null == pipelineMetadata.getRunCount()) {
+                pipelineMetadata.setRunCount(getRunCount(pipelineMetadata));
+            }
             ToolConfig argoToolConfig = serviceFactory.getConfigCollector().getArgoDetails(pipelineMetadata);
             ArgoToolDetails argoToolDetails = serviceFactory.getConfigCollector().getArgoDetails(argoToolConfig.getToolConfigId(), pipelineMetadata.getCustomerId());
             String argoPassword = getArgoToolPassword(argoToolDetails);
@@ -339,33 +584,50 @@ public class ArgoOrchestratorV2 {
                     pipelineMetadata.getRunCount());
         } catch (Exception e) {
             LOGGER.error("Exception occured while publishing sync and application details to data transformer. stack: {}", Arrays.toString(e.getStackTrace()));
+        } finally {
+            serviceFactory.getArgoMetrics().recordSyncPhase(ArgoMetrics.SYNC_PHASE_DATA_TRANSFORMER_PUBLISH, startNanos);
         }
     }
 
-    private void setKustomizeDetails(OpseraPipelineMetadata pipelineMetadata, ToolConfig argoToolConfig, ArgoToolDetails argoToolDetails, String argoPassword) throws UnsupportedEncodingException {
-        ArgoApplicationItem argoApplicationItem = serviceFactory.getArgoOrchestrator().getApplication(argoToolConfig.getToolConfigId(), pipelineMetadata.getCustomerId(),
-                argoToolConfig.getApplicationName());
-        ArgoApplicationSource source = serviceFactory.getArgoOrchestrator().getAppDetails(argoToolConfig.getToolConfigId(), pipelineMetadata.getCustomerId(), argoApplicationItem.getSpec());
-        if ("Kustomize".equalsIgnoreCase(source.getType())) {
-            List<String> images = new ArrayList<>();
-            Kustomize kustomize = null;
-            if (null != argoApplicationItem.getSpec().getSource().getKustomize()) {
-                argoApplicationItem.getSpec().getSource().getKustomize().getImages()
-                        .forEach(image -> images.add(String.format("%s=%s", image.contains("=") ? image.substring(0, image.indexOf("=")) : image, argoToolConfig.getImageUrl())));
-                kustomize = argoApplicationItem.getSpec().getSource().getKustomize();
-                argoApplicationItem.getSpec().getSource().getKustomize().getImages().clear();
-            } else {
-                source.getKustomize().getImages()
-                        .forEach(image -> images.add(String.format("%s=%s", image.contains("=") ? image.substring(0, image.indexOf("=")) : image, argoToolConfig.getImageUrl())));
-                kustomize = new Kustomize();
-            }
-            kustomize.setImages(images);
-            argoApplicationItem.getSpec().getSource().setKustomize(kustomize);
-            if (!CollectionUtils.isEmpty(argoApplicationItem.getStatus().getHistory())) {
-                argoApplicationItem.getStatus().getHistory().clear();
-            }
-            serviceFactory.getArgoHelper().updateApplication(argoApplicationItem, argoToolDetails.getConfiguration(), argoPassword, argoToolConfig.getApplicationName());
+    private boolean isKustomizeUpdate(ToolConfig argoToolConfig) {
+        return argoToolConfig.isKustomizeFlag() && !StringUtils.isEmpty(argoToolConfig.getImageUrl());
+    }
+
+    private boolean isDynamicVariablesUpdate(ToolConfig argoToolConfig) {
+        return argoToolConfig.isDynamicVariables() && (!StringUtils.isEmpty(argoToolConfig.getApplicationCluster()) || !StringUtils.isEmpty(argoToolConfig.getYamlPath()));
+    }
+
+    private boolean setKustomizeDetails(ArgoApplicationItem argoApplicationItem, ToolConfig argoToolConfig, ArgoToolDetails argoToolDetails, String argoPassword)
+            throws UnsupportedEncodingException {
+        ArgoApplicationSource source = serviceFactory.getArgoHelper().getAppdetails(argoToolDetails.getConfiguration(), argoPassword, argoApplicationItem.getSpec());
+        if (!"Kustomize".equalsIgnoreCase(source.getType())) {
+            return false;
+        }
+        List<String> images = new ArrayList<>();
+        Kustomize kustomize = null;
+        if (null != argoApplicationItem.getSpec().getSource().getKustomize()) {
+            argoApplicationItem.getSpec().getSource().getKustomize().getImages()
+                    .forEach(image -> images.add(String.format("%s=%s", image.contains("=") ? image.substring(0, image.indexOf("=")) : image, argoToolConfig.getImageUrl())));
+            kustomize = argoApplicationItem.getSpec().getSource().getKustomize();
+            argoApplicationItem.getSpec().getSource().getKustomize().getImages().clear();
+        } else {
+            source.getKustomize().getImages()
+                    .forEach(image -> images.add(String.format("%s=%s", image.contains("=") ? image.substring(0, image.indexOf("=")) : image, argoToolConfig.getImageUrl())));
+            kustomize = new Kustomize();
         }
+        kustomize.setImages(images);
+        argoApplicationItem.getSpec().getSource().setKustomize(kustomize);
+        return true;
+    }
 
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 }
@@ -0,0 +1,207 @@
+package com.opsera.integrator.argo.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.exceptions.InternalServiceException;
+import com.opsera.integrator.argo.resources.ToolConfig;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Caches the argo bearer tokens per tool url, user name and credential so that
+ * each argo call does not have to login again.
+ */
+@Component
+public class ArgoSessionTokenCache {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(ArgoSessionTokenCache.class);
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The max number of cached tokens. */
+    @Value("${argo.token.cache.maxSize}")
+    private long maxSize;
+
+    /** The ttl used when the token does not carry an exp claim. */
+    @Value("${argo.token.cache.defaultTtlSeconds}")
+    private long defaultTtlSeconds;
+
+    /** How long before the exp claim the token is dropped and refreshed. */
+    @Value("${argo.token.cache.refreshBeforeExpirySeconds}")
+    private long refreshBeforeExpirySeconds;
+
+    /** The token cache. */
+    private Cache<TokenKey, CachedToken> tokenCache;
+
+    /**
+     * Inits the token cache.
+     */
+    @PostConstruct
+    public void init() {
+        tokenCache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new Expiry<TokenKey, CachedToken>() {
+            @Override
+            public long expireAfterCreate(TokenKey key, CachedToken value, long currentTime) {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.getRefreshAt() - System.currentTimeMillis()));
+            }
+
+            @Override
+            public long expireAfterUpdate(TokenKey key, CachedToken value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(TokenKey key, CachedToken value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        }).build();
+    }
+
+    /**
+     * Returns the cached token for the given tool and credential, or logs in
+     * through the given loader when there is no valid token.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @param loader       the loader
+     * @return the token
+     */
+    public String getToken(ToolConfig toolConfig, String argoPassword, Supplier<String> loader) {
+        TokenKey key = buildKey(toolConfig, argoPassword);
+        return tokenCache.get(key, k -> {
+            LOGGER.debug("No valid argo token cached for url {} and user {}, requesting a new one", k.getToolUrl(), k.getUserName());
+            String token = loader.get();
+            return new CachedToken(token, getRefreshAt(token));
+        }).getToken();
+    }
+
+    /**
+     * Drops the cached token, used when argo rejects it with 401.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     */
+    public void invalidate(ToolConfig toolConfig, String argoPassword) {
+        LOGGER.debug("Invalidating the cached argo token for url {}", toolConfig.getToolURL());
+        tokenCache.invalidate(buildKey(toolConfig, argoPassword));
+    }
+
+    /**
+     * Builds the cache key.
+     *
+     * @param toolConfig   the tool config
+     * @param argoPassword the argo password
+     * @return the token key
+     */
+    private TokenKey buildKey(ToolConfig toolConfig, String argoPassword) {
+        return new TokenKey(toolConfig.getToolURL(), toolConfig.getUserName(), toolConfig.isSecretAccessTokenEnabled(), hash(argoPassword));
+    }
+
+    /**
+     * Computes the time at which the token has to be refreshed, based on the
+     * JWT exp claim when present.
+     *
+     * @param token the token
+     * @return the refresh at
+     */
+    private long getRefreshAt(String token) {
+        long now = System.currentTimeMillis();
+        long refreshAt = now + TimeUnit.SECONDS.toMillis(defaultTtlSeconds);
+        Long expiresAt = getExpiresAt(token);
+        if (null != expiresAt) {
+            refreshAt = Math.min(refreshAt, expiresAt - TimeUnit.SECONDS.toMillis(refreshBeforeExpirySeconds));
+        }
+        return refreshAt;
+    }
+
+    /**
+     * Reads the exp claim of the token.
+     *
+     * @param token the token
+     * @return the expiry in millis or null if the token is not a JWT with exp
+     */
+    private Long getExpiresAt(String token) {
+        if (StringUtils.isEmpty(token)) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode claims = serviceFactory.getObjectMapper().readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode exp = claims.get("exp");
+            return null != exp && exp.canConvertToLong() ? TimeUnit.SECONDS.toMillis(exp.asLong()) : null;
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read the exp claim from the argo token. message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hashes the credential so that it is not kept as part of the key.
+     *
+     * @param value the value
+     * @return the string
+     */
+    private String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalServiceException("SHA-256 is not available to hash the argo credentials");
+        }
+    }
+
+    /**
+     * The cache key.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class TokenKey {
+
+        private final String toolUrl;
+
+        private final String userName;
+
+        private final boolean secretAccessToken;
+
+        private final String credentialHash;
+    }
+
+    /**
+     * The cached token.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class CachedToken {
+
+        private final String token;
+
+        private final long refreshAt;
+    }
+}
@@ -0,0 +1,247 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.resources.ArgoApplicationItem;
+import com.opsera.integrator.argo.resources.ArgoSyncWatchState;
+
+/**
+ * Tracks the in-flight argo syncs on a small scheduler instead of parking a
+ * pool thread per sync. The scheduler only keeps the time: each due poll and
+ * each stream event is handed to a bounded worker pool, so a slow argo server
+ * only delays its own syncs. A poll either completes the sync or schedules the
+ * next poll. When the stream watch is enabled the syncs are completed from the
+ * argo application event stream and the polls only act as a fallback and as
+ * the timeout.
+ */
+@Component
+public class ArgoSyncStatusWatcher {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(ArgoSyncStatusWatcher.class);
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The task executor. */
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    /** The number of scheduler threads. */
+    @Value("${argo.sync.watcher.threads}")
+    private int watcherThreads;
+
+    /** The number of worker threads running the polls and stream events. */
+    @Value("${argo.sync.watcher.workerThreads}")
+    private int workerThreads;
+
+    /** The number of polls and stream events that can wait for a worker. */
+    @Value("${argo.sync.watcher.workerQueueCapacity}")
+    private int workerQueueCapacity;
+
+    /** The delay before a poll or post sync task is retried when its executor is full. */
+    @Value("${argo.sync.watcher.retryDelaySeconds}")
+    private long retryDelaySeconds;
+
+    /** The delay before the first status poll. */
+    @Value("${argo.sync.watcher.initialDelaySeconds}")
+    private long initialDelaySeconds;
+
+    /** The delay between status polls. */
+    @Value("${argo.sync.watcher.pollIntervalSeconds}")
+    private long pollIntervalSeconds;
+
+    /** The delay between sync completion and the post sync tasks. */
+    @Value("${argo.sync.watcher.postSyncDelaySeconds}")
+    private long postSyncDelaySeconds;
+
+    /** How long a state received from the event stream replaces a status poll. */
+    @Value("${argo.sync.stream.maxEventAgeSeconds}")
+    private long maxStreamEventAgeSeconds;
+
+    /** How long the shutdown waits for in-flight syncs. */
+    @Value("${argo.sync.watcher.shutdownAwaitSeconds}")
+    private long shutdownAwaitSeconds;
+
+    /** The scheduler. */
+    private ScheduledExecutorService scheduler;
+
+    /** The workers running the polls and stream events. */
+    private ThreadPoolExecutor workers;
+
+    /** The in-flight syncs and pending post sync tasks. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** The stream listeners of the in-flight syncs. */
+    private final Map<ArgoSyncWatchState, ArgoApplicationStreamClient.Listener> streamListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Inits the scheduler and the workers.
+     */
+    @PostConstruct
+    public void init() {
+        scheduler = Executors.newScheduledThreadPool(watcherThreads, new CustomizableThreadFactory("ArgoSyncWatcher-"));
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(workerQueueCapacity), new CustomizableThreadFactory("ArgoSyncWorker-"));
+        workers.allowCoreThreadTimeOut(true);
+        serviceFactory.getArgoMetrics().monitorExecutor(workers, "argoSyncWatcherWorkers");
+    }
+
+    /**
+     * Starts watching the given sync.
+     *
+     * @param watchState the watch state
+     */
+    public void watch(ArgoSyncWatchState watchState) {
+        inFlight.incrementAndGet();
+        if (serviceFactory.getArgoApplicationStreamClient().isEnabled()) {
+            subscribe(watchState);
+        }
+        schedulePoll(watchState, initialDelaySeconds);
+    }
+
+    /**
+     * Runs the given task on the task executor once the post sync delay is
+     * over, without holding a thread while waiting.
+     *
+     * @param task the task
+     */
+    public void afterSyncCompleted(Runnable task) {
+        inFlight.incrementAndGet();
+        schedulePostSyncTask(task, postSyncDelaySeconds);
+    }
+
+    private void schedulePostSyncTask(Runnable task, long delaySeconds) {
+        scheduler.schedule(() -> {
+            try {
+                taskExecutor.execute(task);
+                inFlight.decrementAndGet();
+            } catch (TaskRejectedException e) {
+                LOGGER.warn("Task executor is full, retrying the post sync task in {} seconds", retryDelaySeconds);
+                schedulePostSyncTask(task, retryDelaySeconds);
+            }
+        }, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets the number of in-flight syncs and pending post sync tasks.
+     *
+     * @return the in flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    private void subscribe(ArgoSyncWatchState watchState) {
+        ArgoApplicationStreamClient.Listener listener = new ArgoApplicationStreamClient.Listener() {
+            @Override
+            public void onEvent(ArgoApplicationItem applicationItem) {
+                try {
+                    workers.execute(() -> onStreamEvent(watchState, applicationItem));
+                } catch (RejectedExecutionException e) {
+                    LOGGER.debug("Sync watcher workers are full, leaving the stream event of request {} to the next poll", watchState.getPipelineMetadata());
+                }
+            }
+
+            @Override
+            public void onDisconnected() {
+                watchState.setStreamedItem(null);
+            }
+        };
+        streamListeners.put(watchState, listener);
+        serviceFactory.getArgoApplicationStreamClient().subscribe(watchState.getArgoToolDetails().getConfiguration(), watchState.getArgoPassword(), getProject(watchState),
+                watchState.getArgoToolConfig().getApplicationName(), listener);
+    }
+
+    private void unsubscribe(ArgoSyncWatchState watchState) {
+        ArgoApplicationStreamClient.Listener listener = streamListeners.remove(watchState);
+        if (null != listener) {
+            serviceFactory.getArgoApplicationStreamClient().unsubscribe(watchState.getArgoToolDetails().getConfiguration(), getProject(watchState),
+                    watchState.getArgoToolConfig().getApplicationName(), listener);
+        }
+    }
+
+    private String getProject(ArgoSyncWatchState watchState) {
+        ArgoApplicationItem applicationItem = watchState.getApplicationItem();
+        return null == applicationItem || null == applicationItem.getSpec() ? null : applicationItem.getSpec().getProject();
+    }
+
+    private void onStreamEvent(ArgoSyncWatchState watchState, ArgoApplicationItem applicationItem) {
+        try {
+            serviceFactory.getArgoOrchestratorV2().handleStreamEvent(watchState, applicationItem);
+        } catch (Exception ex) {
+            LOGGER.warn("Exception Occurred while handling stream event for request: {}, falling back to polling. message: {}", watchState.getPipelineMetadata(), ex.getMessage());
+        }
+        if (watchState.isCompleted()) {
+            unsubscribe(watchState);
+        }
+    }
+
+    private void schedulePoll(ArgoSyncWatchState watchState, long delaySeconds) {
+        scheduler.schedule(() -> {
+            try {
+                workers.execute(() -> poll(watchState));
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("Sync watcher workers are full, retrying the poll of request {} in {} seconds", watchState.getPipelineMetadata(), retryDelaySeconds);
+                schedulePoll(watchState, retryDelaySeconds);
+            }
+        }, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private void poll(ArgoSyncWatchState watchState) {
+        boolean pending = false;
+        if (System.currentTimeMillis() - watchState.getStreamedAt() > TimeUnit.SECONDS.toMillis(maxStreamEventAgeSeconds)) {
+            watchState.setStreamedItem(null);
+        }
+        try {
+            pending = serviceFactory.getArgoOrchestratorV2().checkOperationStatus(watchState);
+        } catch (Exception ex) {
+            LOGGER.error("Exception Occurred while checking sync status for request: {}, exception: {}", watchState.getPipelineMetadata(), ex);
+            CompletableFuture.runAsync(() -> serviceFactory.getArgoOrchestratorV2().sendErrorResponseToKafka(watchState.getPipelineMetadata(), ex.getMessage()), taskExecutor);
+        }
+        if (pending) {
+            schedulePoll(watchState, pollIntervalSeconds);
+        } else {
+            unsubscribe(watchState);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits for the in-flight syncs before stopping the scheduler.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(shutdownAwaitSeconds);
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline) {
+            LOGGER.info("Waiting for {} in-flight argo syncs to complete before shutdown", inFlight.get());
+            Thread.sleep(TimeUnit.SECONDS.toMillis(5));
+        }
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+}
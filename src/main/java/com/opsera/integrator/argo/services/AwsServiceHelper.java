@@ -6,6 +6,7 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -30,11 +31,19 @@ public class AwsServiceHelper {
     private AppConfig appConfig;
 
     /**
-     * gets the secret from vault
+     * gets the secret from vault. The credentials are cached until shortly
+     * before they expire, the callers get their own copy.
      *
      * @return
      */
     public AwsDetails getCredentials(AwsDetails awsDetails) {
+        AwsDetails credentials = serviceFactory.getCloudCredentialCache().getStsCredentials(awsDetails, () -> requestCredentials(awsDetails));
+        AwsDetails copy = new AwsDetails();
+        BeanUtils.copyProperties(credentials, copy);
+        return copy;
+    }
+
+    private AwsDetails requestCredentials(AwsDetails awsDetails) {
         LOGGER.info("Enter the getting credentials secret for customer {}", awsDetails.getCustomerId());
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         String sessionTokenUrl = appConfig.getAwsServiceBaseUrl() + STS_SESSION_TOKEN;
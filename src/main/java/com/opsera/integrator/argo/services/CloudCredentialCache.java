@@ -0,0 +1,343 @@
+package com.opsera.integrator.argo.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.exceptions.InternalServiceException;
+import com.opsera.integrator.argo.resources.AwsClusterDetails;
+import com.opsera.integrator.argo.resources.AwsDetails;
+import com.opsera.integrator.argo.resources.AzureClusterDetails;
+import com.opsera.integrator.argo.resources.CreateCluster;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Caches the cloud credentials and cluster details fetched from the aws and
+ * azure services until shortly before they expire. Concurrent lookups of the
+ * same entry share one call, and an entry that is read close to its expiry is
+ * refreshed in the background while the callers keep using the current one.
+ */
+@Component
+public class CloudCredentialCache {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(CloudCredentialCache.class);
+
+    private static final String EKS_TOKEN_PREFIX = "k8s-aws-v1.";
+
+    private static final DateTimeFormatter AMZ_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssX");
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The max number of cached entries. */
+    @Value("${cloud.credentials.cache.maxSize}")
+    private long maxSize;
+
+    /** How long before the expiry an entry is refreshed. */
+    @Value("${cloud.credentials.cache.refreshBeforeExpirySeconds}")
+    private long refreshBeforeExpirySeconds;
+
+    /** How long before the expiry an entry is no longer handed out. */
+    @Value("${cloud.credentials.cache.expiryMarginSeconds}")
+    private long expiryMarginSeconds;
+
+    /** How long sts credentials are valid. */
+    @Value("${cloud.credentials.cache.stsTtlSeconds}")
+    private long stsTtlSeconds;
+
+    /** How long an eks token is valid after it was signed. */
+    @Value("${cloud.credentials.cache.eksTokenTtlSeconds}")
+    private long eksTokenTtlSeconds;
+
+    /** How long eks cluster details are cached. */
+    @Value("${cloud.credentials.cache.eksClusterTtlSeconds}")
+    private long eksClusterTtlSeconds;
+
+    /** How long aks cluster details are cached when their token has no expiry. */
+    @Value("${cloud.credentials.cache.aksClusterTtlSeconds}")
+    private long aksClusterTtlSeconds;
+
+    /** The number of threads refreshing entries. */
+    @Value("${cloud.credentials.cache.refreshThreads}")
+    private int refreshThreads;
+
+    /** The credential cache. */
+    private Cache<CredentialKey, CachedCredential> credentialCache;
+
+    /** The refresh executor. */
+    private ExecutorService refreshExecutor;
+
+    /**
+     * Inits the cache and the refresh executor.
+     */
+    @PostConstruct
+    public void init() {
+        credentialCache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new Expiry<CredentialKey, CachedCredential>() {
+            @Override
+            public long expireAfterCreate(CredentialKey key, CachedCredential value, long currentTime) {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.getExpiresAt() - TimeUnit.SECONDS.toMillis(expiryMarginSeconds) - System.currentTimeMillis()));
+            }
+
+            @Override
+            public long expireAfterUpdate(CredentialKey key, CachedCredential value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(CredentialKey key, CachedCredential value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        }).build();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("CloudCredentialRefresh-"));
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        refreshExecutor = threadPoolExecutor;
+        serviceFactory.getArgoMetrics().monitorExecutor(refreshExecutor, "cloudCredentialRefreshExecutor");
+    }
+
+    /**
+     * Stops the refresh executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Gets the sts credentials of the assumed role.
+     *
+     * @param awsDetails the assume role request
+     * @param loader     the loader
+     * @return the credentials
+     */
+    public AwsDetails getStsCredentials(AwsDetails awsDetails, Supplier<AwsDetails> loader) {
+        CredentialKey key = new CredentialKey("sts",
+                Arrays.asList(awsDetails.getCustomerId(), awsDetails.getToolId(), awsDetails.getRoleArn(), awsDetails.getRoleSessionName()));
+        return get(key, loader, credentials -> System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(stsTtlSeconds));
+    }
+
+    /**
+     * Gets the eks token of the cluster. The expiry is taken from the signing
+     * date of the token.
+     *
+     * @param request the cluster request
+     * @param loader  the loader
+     * @return the token
+     */
+    public String getEksToken(CreateCluster request, Supplier<String> loader) {
+        CredentialKey key = new CredentialKey("eksToken", Arrays.asList(request.getCustomerId(), request.getPlatformToolId(), request.getClusterName(),
+                String.valueOf(request.isIamRoleFlag()), request.getRoleArn(), request.getRoleSessionName()));
+        return get(key, loader, this::getEksTokenExpiresAt);
+    }
+
+    /**
+     * Gets the eks cluster details.
+     *
+     * @param awsToolConfigId the aws tool config id
+     * @param customerId      the customer id
+     * @param clusterName     the cluster name
+     * @param loader          the loader
+     * @return the cluster details
+     */
+    public AwsClusterDetails getEksClusterDetails(String awsToolConfigId, String customerId, String clusterName, Supplier<AwsClusterDetails> loader) {
+        CredentialKey key = new CredentialKey("eksCluster", Arrays.asList(customerId, awsToolConfigId, clusterName));
+        return get(key, loader, details -> System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(eksClusterTtlSeconds));
+    }
+
+    /**
+     * Gets the aks cluster details. The expiry is taken from the exp claim of
+     * the bearer token when present.
+     *
+     * @param request the cluster request
+     * @param loader  the loader
+     * @return the cluster details
+     */
+    public AzureClusterDetails getAksClusterDetails(CreateCluster request, Supplier<AzureClusterDetails> loader) {
+        CredentialKey key = new CredentialKey("aksCluster", Arrays.asList(request.getCustomerId(), request.getPlatformToolId(), request.getClusterName(),
+                request.getResourceGroup(), request.getClientId(), hash(request.getClientSecret())));
+        return get(key, loader, details -> {
+            long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(aksClusterTtlSeconds);
+            Long tokenExpiresAt = getJwtExpiresAt(details.getBearerToken());
+            return null == tokenExpiresAt ? expiresAt : Math.min(expiresAt, tokenExpiresAt);
+        });
+    }
+
+    /**
+     * Returns the cached entry, loading it when missing and refreshing it in
+     * the background when it is close to its expiry.
+     *
+     * @param <T>       the value type
+     * @param key       the key
+     * @param loader    the loader
+     * @param expiresAt reads the expiry of a loaded value
+     * @return the value
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T get(CredentialKey key, Supplier<T> loader, Function<T, Long> expiresAt) {
+        CachedCredential cached = credentialCache.get(key, k -> load(k, loader, expiresAt));
+        if (null == cached) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= cached.getRefreshAt() && cached.getRefreshing().compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(() -> refresh(key, cached, loader, expiresAt));
+            } catch (RuntimeException e) {
+                cached.getRefreshing().set(false);
+            }
+        }
+        return (T) cached.getValue();
+    }
+
+    private <T> void refresh(CredentialKey key, CachedCredential cached, Supplier<T> loader, Function<T, Long> expiresAt) {
+        try {
+            CachedCredential refreshed = load(key, loader, expiresAt);
+            if (null != refreshed) {
+                credentialCache.asMap().replace(key, cached, refreshed);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Unable to refresh the cached {} credentials, the current ones are used until they expire. message: {}", key.getType(), e.getMessage());
+            cached.getRefreshing().set(false);
+        }
+    }
+
+    private <T> CachedCredential load(CredentialKey key, Supplier<T> loader, Function<T, Long> expiresAt) {
+        LOGGER.debug("Loading {} credentials", key.getType());
+        T value = loader.get();
+        if (null == value) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long valueExpiresAt = expiresAt.apply(value);
+        long refreshAt = valueExpiresAt - TimeUnit.SECONDS.toMillis(refreshBeforeExpirySeconds);
+        if (refreshAt <= now) {
+            refreshAt = now + (valueExpiresAt - now) / 2;
+        }
+        return new CachedCredential(value, valueExpiresAt, refreshAt, new AtomicBoolean());
+    }
+
+    /**
+     * Reads the signing date of the eks token, which is a presigned sts url.
+     *
+     * @param token the token
+     * @return the expiry in millis
+     */
+    private Long getEksTokenExpiresAt(String token) {
+        long validity = TimeUnit.SECONDS.toMillis(eksTokenTtlSeconds);
+        if (null != token && token.startsWith(EKS_TOKEN_PREFIX)) {
+            try {
+                String url = new String(Base64.getUrlDecoder().decode(token.substring(EKS_TOKEN_PREFIX.length())), StandardCharsets.UTF_8);
+                String amzDate = UriComponentsBuilder.fromUriString(url).build().getQueryParams().getFirst("X-Amz-Date");
+                if (null != amzDate) {
+                    return ZonedDateTime.parse(amzDate, AMZ_DATE_FORMATTER).toInstant().toEpochMilli() + validity;
+                }
+            } catch (Exception e) {
+                LOGGER.debug("Unable to read the signing date of the eks token. message: {}", e.getMessage());
+            }
+        }
+        return System.currentTimeMillis() + validity;
+    }
+
+    /**
+     * Reads the exp claim of the token.
+     *
+     * @param token the token
+     * @return the expiry in millis or null if the token is not a JWT with exp
+     */
+    private Long getJwtExpiresAt(String token) {
+        if (StringUtils.isEmpty(token)) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode exp = serviceFactory.getObjectMapper().readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return null != exp && exp.canConvertToLong() ? TimeUnit.SECONDS.toMillis(exp.asLong()) : null;
+        } catch (Exception e) {
+            LOGGER.debug("Unable to read the exp claim from the cluster token. message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hashes the credential so that it is not kept as part of the key.
+     *
+     * @param value the value
+     * @return the string
+     */
+    private String hash(String value) {
+        if (null == value) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalServiceException("SHA-256 is not available to hash the cloud credentials");
+        }
+    }
+
+    /**
+     * The cache key.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class CredentialKey {
+
+        private final String type;
+
+        private final List<String> parts;
+    }
+
+    /**
+     * The cached entry.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class CachedCredential {
+
+        private final Object value;
+
+        private final long expiresAt;
+
+        private final long refreshAt;
+
+        private final AtomicBoolean refreshing;
+    }
+}
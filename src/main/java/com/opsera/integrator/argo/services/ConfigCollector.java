@@ -1,36 +1,37 @@
 package com.opsera.integrator.argo.services;
 
-import static com.opsera.integrator.argo.resources.Constants.API_GROUP;
-import static com.opsera.integrator.argo.resources.Constants.API_VERSION;
 import static com.opsera.integrator.argo.resources.Constants.AWS_EKS_CLUSTER_ENDPOINT;
 import static com.opsera.integrator.argo.resources.Constants.AWS_STS_CLUSTER_TOKEN_ENDPOINT;
 import static com.opsera.integrator.argo.resources.Constants.CLUSTERS;
 import static com.opsera.integrator.argo.resources.Constants.CLUSTER_ADMIN;
-import static com.opsera.integrator.argo.resources.Constants.CLUSTER_ROLE;
-import static com.opsera.integrator.argo.resources.Constants.CLUSTER_ROLE_BINDING;
 import static com.opsera.integrator.argo.resources.Constants.GET_PARENT_ID;
 import static com.opsera.integrator.argo.resources.Constants.GET_TOOL_DETAILS;
-import static com.opsera.integrator.argo.resources.Constants.K8_SERVCE_ACCOUNT_NAME;
 import static com.opsera.integrator.argo.resources.Constants.PIPELINE_TABLE_ENDPOINT;
 import static com.opsera.integrator.argo.resources.Constants.QUERY_PARM_AWS_TOOLID;
 import static com.opsera.integrator.argo.resources.Constants.QUERY_PARM_CUSTOMERID;
 import static com.opsera.integrator.argo.resources.Constants.QUERY_PARM_PIPELINE_ID;
 import static com.opsera.integrator.argo.resources.Constants.QUERY_PARM_TOOLID;
-import static com.opsera.integrator.argo.resources.Constants.READ_SECRETS_GLOBAL;
 import static com.opsera.integrator.argo.resources.Constants.RUN_COUNT_BY_PIPELINE_V2;
 import static com.opsera.integrator.argo.resources.Constants.SERVICE_ACCOUNT;
 import static com.opsera.integrator.argo.resources.Constants.TOKEN;
 import static com.opsera.integrator.argo.resources.Constants.TOOL_REGISTRY_ENDPOINT;
-import static com.opsera.integrator.argo.resources.Constants.V1;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -38,10 +39,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.opsera.integrator.argo.config.AppConfig;
 import com.opsera.integrator.argo.config.IServiceFactory;
 import com.opsera.integrator.argo.exceptions.ArgoServiceException;
@@ -57,23 +61,14 @@ import com.opsera.integrator.argo.resources.ToolDetails;
 
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.ApiException;
-import io.kubernetes.client.openapi.ApiResponse;
-import io.kubernetes.client.openapi.Configuration;
-import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.apis.RbacAuthorizationV1Api;
 import io.kubernetes.client.openapi.models.V1ClusterRoleBinding;
-import io.kubernetes.client.openapi.models.V1ClusterRoleBindingList;
-import io.kubernetes.client.openapi.models.V1Namespace;
-import io.kubernetes.client.openapi.models.V1NamespaceList;
-import io.kubernetes.client.openapi.models.V1ObjectMeta;
-import io.kubernetes.client.openapi.models.V1RoleRef;
 import io.kubernetes.client.openapi.models.V1Secret;
-import io.kubernetes.client.openapi.models.V1SecretList;
 import io.kubernetes.client.openapi.models.V1ServiceAccount;
-import io.kubernetes.client.openapi.models.V1ServiceAccountList;
 import io.kubernetes.client.openapi.models.V1Status;
 import io.kubernetes.client.openapi.models.V1Subject;
-import io.kubernetes.client.util.Config;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 
 /**
  * Class to interact and fetch the configurations.
@@ -92,13 +87,70 @@ public class ConfigCollector {
     @Autowired
     private AppConfig appConfig;
 
+    /** The max number of cached argo tool details. */
+    @Value("${config.cache.toolDetails.maxSize}")
+    private long toolDetailsMaxSize;
+
+    /** How long argo tool details are cached. */
+    @Value("${config.cache.toolDetails.ttlSeconds}")
+    private long toolDetailsTtlSeconds;
+
+    /** The max number of cached pipeline step configs. */
+    @Value("${config.cache.toolConfig.maxSize}")
+    private long toolConfigMaxSize;
+
+    /** How long pipeline step configs are cached. */
+    @Value("${config.cache.toolConfig.ttlSeconds}")
+    private long toolConfigTtlSeconds;
+
+    /** The max number of cached cluster service account tokens. */
+    @Value("${config.cache.clusterToken.maxSize}")
+    private long clusterTokenMaxSize;
+
+    /** How long cluster service account tokens are cached. */
+    @Value("${config.cache.clusterToken.ttlSeconds}")
+    private long clusterTokenTtlSeconds;
+
+    /** The argo tool details cache. */
+    private Cache<ToolDetailsKey, ArgoToolDetails> argoToolDetailsCache;
+
+    /** The pipeline step config cache. */
+    private Cache<ToolConfigKey, ToolConfig> argoToolConfigCache;
+
+    /** The cluster service account token cache. */
+    private Cache<ClusterTokenKey, ClusterToken> clusterTokenCache;
+
+    /** The cluster service account tokens being reconciled. */
+    private final Map<ClusterTokenKey, CompletableFuture<ClusterToken>> pendingClusterTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Inits the caches.
+     */
+    @PostConstruct
+    public void init() {
+        argoToolDetailsCache = Caffeine.newBuilder().maximumSize(toolDetailsMaxSize).expireAfterWrite(toolDetailsTtlSeconds, TimeUnit.SECONDS).recordStats().build();
+        argoToolConfigCache = Caffeine.newBuilder().maximumSize(toolConfigMaxSize).expireAfterWrite(toolConfigTtlSeconds, TimeUnit.SECONDS).recordStats().build();
+        clusterTokenCache = Caffeine.newBuilder().maximumSize(clusterTokenMaxSize).expireAfterWrite(clusterTokenTtlSeconds, TimeUnit.SECONDS).build();
+    }
+
     /**
-     * Get the argo config defined for the given pipeline/step.
+     * Get the argo config defined for the given pipeline/step. The config is
+     * cached per pipeline run, concurrent lookups of the same run share one
+     * call to the pipeline service.
      *
      * @param opseraPipelineMetadata the opsera pipeline metadata
      * @return the argo details
      */
     public ToolConfig getArgoDetails(OpseraPipelineMetadata opseraPipelineMetadata) {
+        if (null == opseraPipelineMetadata.getRunCount()) {
+            return requestArgoDetails(opseraPipelineMetadata);
+        }
+        ToolConfigKey key = new ToolConfigKey(opseraPipelineMetadata.getCustomerId(), opseraPipelineMetadata.getPipelineId(), opseraPipelineMetadata.getStepId(),
+                opseraPipelineMetadata.getRunCount());
+        return argoToolConfigCache.get(key, k -> requestArgoDetails(opseraPipelineMetadata));
+    }
+
+    private ToolConfig requestArgoDetails(OpseraPipelineMetadata opseraPipelineMetadata) {
         LOGGER.debug("Starting to get Tool Config Details for request {}", opseraPipelineMetadata);
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         String toolsConfigURL = appConfig.getPipelineConfigBaseUrl() + PIPELINE_TABLE_ENDPOINT;
@@ -107,13 +159,18 @@ public class ConfigCollector {
     }
 
     /**
-     * Get the argo config.
+     * Get the argo config. The tool details are cached, concurrent lookups of
+     * the same tool share one call to the tool registry.
      *
      * @param argoToolId the argo tool id
      * @param customerId the customer id
      * @return the argo details
      */
     public ArgoToolDetails getArgoDetails(String argoToolId, String customerId) {
+        return argoToolDetailsCache.get(new ToolDetailsKey(argoToolId, customerId), k -> requestArgoDetails(argoToolId, customerId));
+    }
+
+    private ArgoToolDetails requestArgoDetails(String argoToolId, String customerId) {
         LOGGER.debug("Starting to get Argo Tool Details for toolId {} and customerId {}", argoToolId, customerId);
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(appConfig.getPipelineConfigBaseUrl() + TOOL_REGISTRY_ENDPOINT).queryParam(QUERY_PARM_TOOLID, argoToolId)
@@ -181,9 +238,13 @@ public class ConfigCollector {
      * @param awsToolConfigId the aws tool config id
      * @param customerId      the customer id
      * @param clusterName     the cluster name
-     * @return the AWSEKS cluster details
+     * @return the AWSEKS cluster details, cached until the configured ttl
      */
     public AwsClusterDetails getAWSEKSClusterDetails(String awsToolConfigId, String customerId, String clusterName) {
+        return serviceFactory.getCloudCredentialCache().getEksClusterDetails(awsToolConfigId, customerId, clusterName, () -> requestAWSEKSClusterDetails(awsToolConfigId, customerId, clusterName));
+    }
+
+    private AwsClusterDetails requestAWSEKSClusterDetails(String awsToolConfigId, String customerId, String clusterName) {
         LOGGER.debug("Starting to get Cluster Details for toolId {} and customerId {}", awsToolConfigId, customerId);
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(appConfig.getAwsServiceBaseUrl() + AWS_EKS_CLUSTER_ENDPOINT + clusterName).queryParam(QUERY_PARM_AWS_TOOLID, awsToolConfigId)
@@ -196,9 +257,13 @@ public class ConfigCollector {
      * Gets the AKS cluster details.
      *
      * @param request the request
-     * @return the AKS cluster details
+     * @return the AKS cluster details, cached until their token expires
      */
     public AzureClusterDetails getAKSClusterDetails(CreateCluster request) {
+        return serviceFactory.getCloudCredentialCache().getAksClusterDetails(request, () -> requestAKSClusterDetails(request));
+    }
+
+    private AzureClusterDetails requestAKSClusterDetails(CreateCluster request) {
         LOGGER.debug("Starting to get AKS Cluster Details request {}", request);
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         String toolsConfigURL = appConfig.getAzureServiceBaseUrl() + CLUSTERS;
@@ -211,9 +276,13 @@ public class ConfigCollector {
      * @param awsToolConfigId the aws tool config id
      * @param customerId      the customer id
      * @param clusterName     the cluster name
-     * @return the AWSEKS cluster token
+     * @return the AWSEKS cluster token, cached until shortly before it expires
      */
     public String getAWSEKSClusterToken(CreateCluster request) {
+        return serviceFactory.getCloudCredentialCache().getEksToken(request, () -> requestAWSEKSClusterToken(request));
+    }
+
+    private String requestAWSEKSClusterToken(CreateCluster request) {
         LOGGER.debug("Starting to get EKS Cluster Details for request {} ", request);
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         String clusterConfigURL = appConfig.getAwsServiceBaseUrl() + AWS_STS_CLUSTER_TOKEN_ENDPOINT;
@@ -221,7 +290,14 @@ public class ConfigCollector {
     }
 
     /**
-     * Gets the bearer token.
+     * Gets the bearer token. The token is cached per cluster and tool, so
+     * repeated registrations of a cluster skip the reconcile. A cached token
+     * is only used while its secret and the cluster role binding are
+     * unchanged on the cluster, otherwise the objects of the tool are
+     * reconciled again. A deleted service account is noticed through its
+     * token secret, which kubernetes deletes with it. Concurrent lookups of
+     * the same cluster and tool share one reconcile, which runs outside the
+     * cache so it never blocks the lookups of other clusters.
      *
      * @param serverUrl  the server url
      * @param token      the token
@@ -230,74 +306,131 @@ public class ConfigCollector {
      * @return the bearer token
      */
     public String getBearerToken(String serverUrl, String token, String argoToolId, String nameSpace) {
-        LOGGER.debug("Starting to get bearer token for toolId {} and cluster {}", argoToolId, serverUrl);
-        String serviceToken = "";
+        ClusterTokenKey key = new ClusterTokenKey(serverUrl, argoToolId);
+        ClusterToken clusterToken = clusterTokenCache.getIfPresent(key);
+        if (null != clusterToken && !isCurrent(serverUrl, token, argoToolId, clusterToken)) {
+            LOGGER.debug("Token secret or cluster role binding of service account {} changed on cluster {}, reconciling it again", argoToolId, serverUrl);
+            evictBearerToken(serverUrl, argoToolId);
+            clusterToken = null;
+        }
+        if (null == clusterToken) {
+            clusterToken = loadBearerToken(key, serverUrl, token, argoToolId);
+        }
+        return null == clusterToken ? "" : clusterToken.getToken();
+    }
+
+    /**
+     * Reconciles the token once for all concurrent lookups of the same
+     * cluster and tool and caches it.
+     *
+     * @param key        the cache key
+     * @param serverUrl  the server url
+     * @param token      the token
+     * @param argoToolId the argo tool id
+     * @return the service account token, or null if none was issued yet
+     */
+    private ClusterToken loadBearerToken(ClusterTokenKey key, String serverUrl, String token, String argoToolId) {
+        CompletableFuture<ClusterToken> load = new CompletableFuture<>();
+        CompletableFuture<ClusterToken> pending = pendingClusterTokens.putIfAbsent(key, load);
+        if (null != pending) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
         try {
-            ApiClient client = Config.fromToken(serverUrl, token, false);
-            Configuration.setDefaultApiClient(client);
-            CoreV1Api api = new CoreV1Api();
-            V1Namespace v1Namespace = new V1Namespace();
-            v1Namespace.setApiVersion(V1);
-            v1Namespace.setKind("Namespace");
-            V1ObjectMeta nameSpacemeta = new V1ObjectMeta();
-            nameSpacemeta.setName(argoToolId);
-            Map<String, String> map = new HashMap<>();
-            map.put("name", argoToolId);
-            nameSpacemeta.setLabels(map);
-            v1Namespace.setMetadata(nameSpacemeta);
-
-            V1NamespaceList v1NamespaceList = api.listNamespace(null, null, null, null, null, null, null, null, null, null);
-            boolean isNamespaceExists = v1NamespaceList.getItems().stream().anyMatch(applicationMetadata -> applicationMetadata.getMetadata().getName().equals(argoToolId));
-            if (!isNamespaceExists) {
-                api.createNamespace(v1Namespace, null, null, null);
+            ClusterToken clusterToken = reconcileBearerToken(serverUrl, token, argoToolId);
+            if (null != clusterToken) {
+                clusterTokenCache.put(key, clusterToken);
             }
+            load.complete(clusterToken);
+            return clusterToken;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingClusterTokens.remove(key, load);
+        }
+    }
 
-            V1ServiceAccount body = new V1ServiceAccount();
-            body.setApiVersion(V1);
-            body.setKind(SERVICE_ACCOUNT);
-            V1ObjectMeta meta = new V1ObjectMeta();
-            meta.setName(argoToolId);
-            body.setMetadata(meta);
-            ApiResponse<V1ServiceAccountList> v1ServiceAccountList = api.listNamespacedServiceAccountWithHttpInfo(argoToolId, null, null, null, null, null, null, null, null, null, null);
-            boolean isServiceAccountExists = v1ServiceAccountList.getData().getItems().stream().anyMatch(applicationMetadata -> applicationMetadata.getMetadata().getName().equals(argoToolId));
-            if (isServiceAccountExists) {
-                api.deleteNamespacedServiceAccount(argoToolId, argoToolId, null, null, null, null, null, null);
+    /**
+     * Checks that the token secret and the cluster role binding still exist
+     * unchanged, with a single read of each.
+     *
+     * @param serverUrl    the server url
+     * @param token        the token
+     * @param argoToolId   the argo tool id
+     * @param clusterToken the cached token
+     * @return true, if the cached token can be used
+     */
+    private boolean isCurrent(String serverUrl, String token, String argoToolId, ClusterToken clusterToken) {
+        try {
+            ApiClient client = serviceFactory.getKubernetesClientPool().getClient(serverUrl, token);
+            KubernetesResourceReconciler reconciler = serviceFactory.getKubernetesResourceReconciler();
+            V1Secret secret = reconciler.readSecret(client, clusterToken.getNamespace(), clusterToken.getSecretName());
+            if (null == secret || null == clusterToken.getResourceVersion() || !clusterToken.getResourceVersion().equals(secret.getMetadata().getResourceVersion())) {
+                return false;
             }
-            api.createNamespacedServiceAccount(argoToolId, body, null, null, null);
-            v1ServiceAccountList = api.listNamespacedServiceAccountWithHttpInfo(argoToolId, null, null, null, null, null, null, null, null, null, null);
-            V1ClusterRoleBinding v1ClusterRoleBinding = new V1ClusterRoleBinding();
-            v1ClusterRoleBinding.setApiVersion(API_VERSION);
-            v1ClusterRoleBinding.setKind(CLUSTER_ROLE_BINDING);
-            V1ObjectMeta v1ClusterRoleBindingMeta = new V1ObjectMeta();
-            v1ClusterRoleBindingMeta.setName(READ_SECRETS_GLOBAL);
-            v1ClusterRoleBinding.setMetadata(meta);
+            V1ClusterRoleBinding binding = reconciler.readClusterRoleBinding(client, argoToolId);
+            return null != binding && null != clusterToken.getBindingResourceVersion()
+                    && clusterToken.getBindingResourceVersion().equals(binding.getMetadata().getResourceVersion());
+        } catch (ApiException ex) {
+            LOGGER.warn("Unable to revalidate the token secret {} on cluster {}. code: {}", clusterToken.getSecretName(), serverUrl, ex.getCode());
+            if (HttpStatus.UNAUTHORIZED.value() == ex.getCode()) {
+                serviceFactory.getKubernetesClientPool().evict(serverUrl);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Drops the cached service account token of the tool on the cluster.
+     *
+     * @param serverUrl  the server url
+     * @param argoToolId the argo tool id
+     */
+    public void evictBearerToken(String serverUrl, String argoToolId) {
+        clusterTokenCache.invalidate(new ClusterTokenKey(serverUrl, argoToolId));
+    }
+
+    /**
+     * Reconciles the namespace, service account and cluster role binding of
+     * the tool on the cluster and reads the service account token.
+     *
+     * @param serverUrl  the server url
+     * @param token      the token
+     * @param argoToolId the argo tool id
+     * @return the service account token, or null if none was issued yet
+     */
+    private ClusterToken reconcileBearerToken(String serverUrl, String token, String argoToolId) {
+        LOGGER.debug("Starting to get bearer token for toolId {} and cluster {}", argoToolId, serverUrl);
+        ClusterToken serviceToken = null;
+        try {
+            ApiClient client = serviceFactory.getKubernetesClientPool().getClient(serverUrl, token);
+            KubernetesResourceReconciler reconciler = serviceFactory.getKubernetesResourceReconciler();
+            reconciler.ensureNamespace(client, argoToolId, Collections.singletonMap("name", argoToolId));
+            V1ServiceAccount serviceAccount = reconciler.ensureServiceAccount(client, argoToolId, argoToolId);
             V1Subject v1Subject = new V1Subject();
             v1Subject.setKind(SERVICE_ACCOUNT);
             v1Subject.setName(argoToolId);
             v1Subject.setNamespace(argoToolId);
-            v1ClusterRoleBinding.setSubjects(Arrays.asList(v1Subject));
-            V1RoleRef roleRef = new V1RoleRef();
-            roleRef.setKind(CLUSTER_ROLE);
-            roleRef.setName(CLUSTER_ADMIN);
-            roleRef.apiGroup(API_GROUP);
-            v1ClusterRoleBinding.setRoleRef(roleRef);
-
-            RbacAuthorizationV1Api rbacAuthorizationV1Api = new RbacAuthorizationV1Api(client);
-            V1ClusterRoleBindingList clusterRoleBindingList = rbacAuthorizationV1Api.listClusterRoleBinding(null, null, null, null, null, null, null, null, null, null);
-            boolean isClusterRoleBindingExists = clusterRoleBindingList.getItems().stream().anyMatch(applicationMetadata -> applicationMetadata.getMetadata().getName().equals(argoToolId));
-            if (isClusterRoleBindingExists) {
-                rbacAuthorizationV1Api.deleteClusterRoleBinding(argoToolId, null, null, null, null, null, null);
-            }
-            rbacAuthorizationV1Api.createClusterRoleBinding(v1ClusterRoleBinding, null, null, null);
-            V1SecretList v1SecretList = api.listNamespacedSecret(argoToolId, null, null, null, null, null, null, null, null, null, null);
-            for (V1Secret item : v1SecretList.getItems()) {
-                if (null != item.getMetadata().getAnnotations() && item.getMetadata().getAnnotations().containsKey(K8_SERVCE_ACCOUNT_NAME)
-                        && meta.getName().equalsIgnoreCase(item.getMetadata().getAnnotations().get(K8_SERVCE_ACCOUNT_NAME))) {
-                    serviceToken = new String(item.getData().get(TOKEN));
-                }
+            V1ClusterRoleBinding binding = reconciler.ensureClusterRoleBinding(client, argoToolId, CLUSTER_ADMIN, Arrays.asList(v1Subject));
+            V1Secret tokenSecret = reconciler.ensureServiceAccountTokenSecret(client, serviceAccount);
+            if (null != tokenSecret && null != tokenSecret.getData() && null != tokenSecret.getData().get(TOKEN)) {
+                serviceToken = new ClusterToken(tokenSecret.getMetadata().getNamespace(), tokenSecret.getMetadata().getName(), tokenSecret.getMetadata().getResourceVersion(),
+                        null == binding ? null : binding.getMetadata().getResourceVersion(), new String(tokenSecret.getData().get(TOKEN)));
+            } else {
+                LOGGER.warn("No token issued yet for service account {} on cluster {}", argoToolId, serverUrl);
             }
         } catch (ApiException ex) {
             LOGGER.error("A problem occurred while creating service account and cluster role binding to get aws eks cluster token for service account {} and cluster {}", argoToolId, serverUrl);
+            if (HttpStatus.UNAUTHORIZED.value() == ex.getCode()) {
+                serviceFactory.getKubernetesClientPool().evict(serverUrl);
+            }
             processException(ex);
         }
         LOGGER.debug("Completed to get bearer token for toolId {} and cluster {}", argoToolId, serverUrl);
@@ -338,4 +471,91 @@ public class ConfigCollector {
         return serviceFactory.getRestTemplate().getForObject(uriBuilder.toUriString(), String.class);
     }
 
+    /**
+     * Drops the cached tool details and pipeline configs matching the given
+     * ids. Ids left empty match everything.
+     *
+     * @param toolId     the tool id
+     * @param customerId the customer id
+     * @param pipelineId the pipeline id
+     */
+    public void evictCachedConfigs(String toolId, String customerId, String pipelineId) {
+        LOGGER.info("Evicting cached configs for toolId {}, customerId {}, pipelineId {}", toolId, customerId, pipelineId);
+        if (StringUtils.isEmpty(pipelineId)) {
+            argoToolDetailsCache.asMap().keySet().removeIf(key -> matches(toolId, key.getToolId()) && matches(customerId, key.getCustomerId()));
+            clusterTokenCache.asMap().keySet().removeIf(key -> matches(toolId, key.getArgoToolId()));
+        }
+        if (StringUtils.isEmpty(toolId)) {
+            argoToolConfigCache.asMap().keySet().removeIf(key -> matches(pipelineId, key.getPipelineId()) && matches(customerId, key.getCustomerId()));
+        } else {
+            argoToolConfigCache.asMap().entrySet()
+                    .removeIf(entry -> matches(toolId, entry.getValue().getToolConfigId()) && matches(pipelineId, entry.getKey().getPipelineId()) && matches(customerId, entry.getKey().getCustomerId()));
+        }
+    }
+
+    private boolean matches(String expected, String actual) {
+        return StringUtils.isEmpty(expected) || expected.equals(actual);
+    }
+
+    /**
+     * The argo tool details cache key.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ToolDetailsKey {
+
+        private final String toolId;
+
+        private final String customerId;
+    }
+
+    /**
+     * The pipeline step config cache key.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ToolConfigKey {
+
+        private final String customerId;
+
+        private final String pipelineId;
+
+        private final String stepId;
+
+        private final Integer runCount;
+    }
+
+    /**
+     * The cluster service account token cache key.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ClusterTokenKey {
+
+        private final String serverUrl;
+
+        private final String argoToolId;
+    }
+
+    /**
+     * A cached service account token and the versions of its secret and of
+     * the cluster role binding.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class ClusterToken {
+
+        private final String namespace;
+
+        private final String secretName;
+
+        private final String resourceVersion;
+
+        private final String bindingResourceVersion;
+
+        private final String token;
+    }
 }
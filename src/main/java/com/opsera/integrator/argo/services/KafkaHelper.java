@@ -5,13 +5,16 @@ import static com.opsera.integrator.argo.resources.Constants.SUCCESS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.ListenableFutureCallback;
 
+import com.opsera.integrator.argo.config.IServiceFactory;
 import com.opsera.integrator.argo.exceptions.MessageProcessingException;
 import com.opsera.integrator.argo.resources.KafkaTopics;
 
@@ -20,12 +23,19 @@ public class KafkaHelper {
 
     public static final Logger LOGGER = LoggerFactory.getLogger(KafkaHelper.class);
 
+    @Autowired
+    private IServiceFactory serviceFactory;
+
     @Autowired
     private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
 
     @Autowired
     private KafkaTemplate<String, String> kafkaTemplate;
 
+    @Autowired
+    @Qualifier("logKafkaTemplate")
+    private KafkaTemplate<String, String> logKafkaTemplate;
+
     /**
      * Method to publish to Kafka topic via Kafka Integrator Service
      * 
@@ -33,17 +43,20 @@ public class KafkaHelper {
      * @return
      */
     public String postNotificationToKafkaService(KafkaTopics topic, String message) {
-        ListenableFuture<SendResult<String, String>> future = kafkaTemplate.send(topic.getTopicName(), message);
+        long startNanos = System.nanoTime();
+        ListenableFuture<SendResult<String, String>> future = getKafkaTemplate(topic).send(topic.getTopicName(), message);
 
         future.addCallback(new ListenableFutureCallback<SendResult<String, String>>() {
 
             @Override
             public void onSuccess(SendResult<String, String> result) {
+                serviceFactory.getArgoMetrics().recordKafkaSend(topic.getTopicName(), startNanos, true);
                 LOGGER.info("Sent message=[ {} ] to topic=[ {} ] with offset=[ {} ]", message, topic.name(), result.getRecordMetadata().offset());
             }
 
             @Override
             public void onFailure(Throwable ex) {
+                serviceFactory.getArgoMetrics().recordKafkaSend(topic.getTopicName(), startNanos, false);
                 LOGGER.error("Unable to send message=[] due to exception: {}", message, ex);
                 throw new MessageProcessingException("Exception while publishing message via kafka");
             }
@@ -51,8 +64,50 @@ public class KafkaHelper {
         return SUCCESS;
     }
 
+    /**
+     * Logs go out through the producer tuned for large payloads, everything
+     * else through the one tuned for small status events.
+     */
+    private KafkaTemplate<String, String> getKafkaTemplate(KafkaTopics topic) {
+        switch (topic) {
+        case OPSERA_PIPELINE_LOG:
+        case OPSERA_PIPELINE_CONSOLE_LOG:
+        case OPSERA_PIPELINE_SUMMARY_LOG:
+            return logKafkaTemplate;
+        default:
+            return kafkaTemplate;
+        }
+    }
+
     public void stopListeners() {
         LOGGER.info("Stopping the Kafka Listeners");
         kafkaListenerEndpointRegistry.stop();
     }
+
+    /**
+     * Pauses the partitions of the given listener, takes effect with its next
+     * poll.
+     *
+     * @param listenerId the listener id
+     */
+    public void pauseListener(String listenerId) {
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(listenerId);
+        if (null != container && !container.isPauseRequested()) {
+            LOGGER.info("Pausing the Kafka Listener {}", listenerId);
+            container.pause();
+        }
+    }
+
+    /**
+     * Resumes the partitions of the given listener.
+     *
+     * @param listenerId the listener id
+     */
+    public void resumeListener(String listenerId) {
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(listenerId);
+        if (null != container && container.isPauseRequested()) {
+            LOGGER.info("Resuming the Kafka Listener {}", listenerId);
+            container.resume();
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package com.opsera.integrator.argo.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.opsera.integrator.argo.exceptions.InternalServiceException;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.util.Config;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+/**
+ * Pool of the kubernetes api clients, one per cluster and credential. The
+ * clients are handed to the api classes explicitly instead of being installed
+ * as the jvm wide default client, so concurrent requests against different
+ * clusters cannot pick up each other's client. All clients share one okhttp
+ * dispatcher and connection pool, so warm connections are reused and idle
+ * clients cost nothing but their cache entry.
+ */
+@Component
+public class KubernetesClientPool {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(KubernetesClientPool.class);
+
+    /** The max number of pooled clients. */
+    @Value("${kubernetes.client.maxSize}")
+    private long maxSize;
+
+    /** How long an unused client stays pooled. */
+    @Value("${kubernetes.client.idleSeconds}")
+    private long idleSeconds;
+
+    /** The max number of idle connections kept over all clusters. */
+    @Value("${kubernetes.client.maxIdleConnections}")
+    private int maxIdleConnections;
+
+    /** How long an idle connection is kept. */
+    @Value("${kubernetes.client.keepAliveSeconds}")
+    private long keepAliveSeconds;
+
+    /** The max number of concurrent requests per cluster. */
+    @Value("${kubernetes.client.maxRequestsPerHost}")
+    private int maxRequestsPerHost;
+
+    /** The pooled clients. */
+    private Cache<ClientKey, ApiClient> clients;
+
+    /** The shared okhttp connection pool. */
+    private ConnectionPool connectionPool;
+
+    /** The shared okhttp dispatcher. */
+    private Dispatcher dispatcher;
+
+    /**
+     * Inits the pool.
+     */
+    @PostConstruct
+    public void init() {
+        connectionPool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+        dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        clients = Caffeine.newBuilder().maximumSize(maxSize).expireAfterAccess(idleSeconds, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * Gets the pooled client of the cluster and token, creating it if needed.
+     *
+     * @param serverUrl the cluster server url
+     * @param token     the bearer token
+     * @return the api client
+     */
+    public ApiClient getClient(String serverUrl, String token) {
+        return clients.get(new ClientKey(serverUrl, fingerprint(token)), key -> {
+            LOGGER.debug("Creating kubernetes api client for cluster {}", serverUrl);
+            ApiClient client = Config.fromToken(serverUrl, token, false);
+            client.setHttpClient(client.getHttpClient().newBuilder().connectionPool(connectionPool).dispatcher(dispatcher).build());
+            return client;
+        });
+    }
+
+    /**
+     * Drops the clients of the cluster, e.g. when its credentials were
+     * rejected.
+     *
+     * @param serverUrl the cluster server url
+     */
+    public void evict(String serverUrl) {
+        clients.asMap().keySet().removeIf(key -> key.serverUrl.equals(serverUrl));
+    }
+
+    /**
+     * Gets the number of pooled clients.
+     *
+     * @return the client count
+     */
+    public long getClientCount() {
+        return clients.estimatedSize();
+    }
+
+    /**
+     * Drops the clients and closes the shared connections.
+     */
+    @PreDestroy
+    public void shutdown() {
+        clients.invalidateAll();
+        dispatcher.executorService().shutdown();
+        connectionPool.evictAll();
+    }
+
+    /**
+     * Hashes the token, so the pool keys do not hold the credential.
+     *
+     * @param token the token
+     * @return the fingerprint
+     */
+    private String fingerprint(String token) {
+        if (null == token) {
+            return "";
+        }
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalServiceException("Unable to fingerprint the kubernetes credentials");
+        }
+    }
+
+    /**
+     * The pool key.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ClientKey {
+
+        private final String serverUrl;
+
+        private final String credentialFingerprint;
+    }
+}
@@ -0,0 +1,326 @@
+package com.opsera.integrator.argo.services;
+
+import static com.opsera.integrator.argo.resources.Constants.API_GROUP;
+import static com.opsera.integrator.argo.resources.Constants.API_VERSION;
+import static com.opsera.integrator.argo.resources.Constants.CLUSTER_ROLE;
+import static com.opsera.integrator.argo.resources.Constants.CLUSTER_ROLE_BINDING;
+import static com.opsera.integrator.argo.resources.Constants.K8_SERVCE_ACCOUNT_NAME;
+import static com.opsera.integrator.argo.resources.Constants.K8_SERVICE_ACCOUNT_TOKEN_SUFFIX;
+import static com.opsera.integrator.argo.resources.Constants.K8_SERVICE_ACCOUNT_TOKEN_TYPE;
+import static com.opsera.integrator.argo.resources.Constants.SERVICE_ACCOUNT;
+import static com.opsera.integrator.argo.resources.Constants.TOKEN;
+import static com.opsera.integrator.argo.resources.Constants.V1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.kubernetes.client.openapi.ApiClient;
+import io.kubernetes.client.openapi.ApiException;
+import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.apis.RbacAuthorizationV1Api;
+import io.kubernetes.client.openapi.models.V1ClusterRoleBinding;
+import io.kubernetes.client.openapi.models.V1Namespace;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1RoleRef;
+import io.kubernetes.client.openapi.models.V1Secret;
+import io.kubernetes.client.openapi.models.V1ServiceAccount;
+import io.kubernetes.client.openapi.models.V1Subject;
+
+/**
+ * Brings the cluster objects the argo integration needs into the desired
+ * state. Every object is read by name, a 404 is treated as absent and the
+ * object is only written when it is missing or differs from the desired
+ * state, so reconciling a cluster that is already set up costs one small read
+ * per object instead of listing the whole cluster.
+ */
+@Component
+public class KubernetesResourceReconciler {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(KubernetesResourceReconciler.class);
+
+    /** How long to wait for the token of a new token secret to be issued. */
+    @Value("${kubernetes.reconciler.tokenWaitMillis}")
+    private long tokenWaitMillis;
+
+    /** How often to check a new token secret for its token. */
+    @Value("${kubernetes.reconciler.tokenWaitAttempts}")
+    private int tokenWaitAttempts;
+
+    /**
+     * Creates the namespace, or adds the missing labels to the existing one.
+     *
+     * @param client the api client
+     * @param name   the namespace name
+     * @param labels the labels, may be empty
+     * @throws ApiException the api exception
+     */
+    public void ensureNamespace(ApiClient client, String name, Map<String, String> labels) throws ApiException {
+        CoreV1Api api = new CoreV1Api(client);
+        V1Namespace existing = readIfExists(() -> api.readNamespace(name, null, null, null));
+        if (null == existing) {
+            V1Namespace namespace = new V1Namespace();
+            namespace.setApiVersion(V1);
+            namespace.setKind("Namespace");
+            V1ObjectMeta metadata = new V1ObjectMeta();
+            metadata.setName(name);
+            if (!labels.isEmpty()) {
+                metadata.setLabels(new HashMap<>(labels));
+            }
+            namespace.setMetadata(metadata);
+            LOGGER.debug("Creating namespace {}", name);
+            createIfAbsent(() -> api.createNamespace(namespace, null, null, null));
+            return;
+        }
+        Map<String, String> existingLabels = null == existing.getMetadata().getLabels() ? new HashMap<>() : new HashMap<>(existing.getMetadata().getLabels());
+        if (!existingLabels.entrySet().containsAll(labels.entrySet())) {
+            existingLabels.putAll(labels);
+            existing.getMetadata().setLabels(existingLabels);
+            LOGGER.debug("Updating the labels of namespace {}", name);
+            api.replaceNamespace(name, existing, null, null, null);
+        }
+    }
+
+    /**
+     * Creates the service account if it does not exist.
+     *
+     * @param client    the api client
+     * @param namespace the namespace
+     * @param name      the service account name
+     * @return the service account
+     * @throws ApiException the api exception
+     */
+    public V1ServiceAccount ensureServiceAccount(ApiClient client, String namespace, String name) throws ApiException {
+        CoreV1Api api = new CoreV1Api(client);
+        V1ServiceAccount existing = readIfExists(() -> api.readNamespacedServiceAccount(name, namespace, null, null, null));
+        if (null != existing) {
+            return existing;
+        }
+        V1ServiceAccount serviceAccount = new V1ServiceAccount();
+        serviceAccount.setApiVersion(V1);
+        serviceAccount.setKind(SERVICE_ACCOUNT);
+        V1ObjectMeta metadata = new V1ObjectMeta();
+        metadata.setName(name);
+        serviceAccount.setMetadata(metadata);
+        LOGGER.debug("Creating service account {} in namespace {}", name, namespace);
+        V1ServiceAccount created = createIfAbsent(() -> api.createNamespacedServiceAccount(namespace, serviceAccount, null, null, null));
+        return null != created ? created : api.readNamespacedServiceAccount(name, namespace, null, null, null);
+    }
+
+    /**
+     * Finds the token secret of the service account by name, first among the
+     * secrets the service account references and then under the name this
+     * reconciler gives the secrets it creates. Clusters that no longer issue
+     * token secrets on their own get one created, and the token is waited for
+     * until the token controller has filled it in.
+     *
+     * @param client         the api client
+     * @param serviceAccount the service account
+     * @return the token secret, its data may still be empty
+     * @throws ApiException the api exception
+     */
+    public V1Secret ensureServiceAccountTokenSecret(ApiClient client, V1ServiceAccount serviceAccount) throws ApiException {
+        CoreV1Api api = new CoreV1Api(client);
+        String namespace = serviceAccount.getMetadata().getNamespace();
+        String name = serviceAccount.getMetadata().getName();
+        String tokenSecretName = name + K8_SERVICE_ACCOUNT_TOKEN_SUFFIX;
+        List<String> secretNames = new ArrayList<>();
+        if (null != serviceAccount.getSecrets()) {
+            serviceAccount.getSecrets().forEach(reference -> secretNames.add(reference.getName()));
+        }
+        if (!secretNames.contains(tokenSecretName)) {
+            secretNames.add(tokenSecretName);
+        }
+        for (String secretName : secretNames) {
+            V1Secret secret = readIfExists(() -> api.readNamespacedSecret(secretName, namespace, null, null, null));
+            if (isTokenSecretOf(secret, name)) {
+                return secret;
+            }
+        }
+        V1Secret tokenSecret = new V1Secret();
+        tokenSecret.setApiVersion(V1);
+        tokenSecret.setKind("Secret");
+        tokenSecret.setType(K8_SERVICE_ACCOUNT_TOKEN_TYPE);
+        V1ObjectMeta metadata = new V1ObjectMeta();
+        metadata.setName(tokenSecretName);
+        metadata.setAnnotations(Collections.singletonMap(K8_SERVCE_ACCOUNT_NAME, name));
+        tokenSecret.setMetadata(metadata);
+        LOGGER.debug("Creating token secret {} for service account {} in namespace {}", tokenSecretName, name, namespace);
+        V1Secret secret = createIfAbsent(() -> api.createNamespacedSecret(namespace, tokenSecret, null, null, null));
+        for (int attempt = 0; attempt < tokenWaitAttempts && !hasToken(secret); attempt++) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(tokenWaitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            secret = readIfExists(() -> api.readNamespacedSecret(tokenSecretName, namespace, null, null, null));
+        }
+        return secret;
+    }
+
+    /**
+     * Binds the cluster role to the subjects. An existing binding is updated
+     * when its subjects differ and recreated when it points to another role,
+     * as the role of a binding cannot be changed.
+     *
+     * @param client      the api client
+     * @param name        the binding name
+     * @param clusterRole the cluster role name
+     * @param subjects    the subjects
+     * @return the binding
+     * @throws ApiException the api exception
+     */
+    public V1ClusterRoleBinding ensureClusterRoleBinding(ApiClient client, String name, String clusterRole, List<V1Subject> subjects) throws ApiException {
+        RbacAuthorizationV1Api api = new RbacAuthorizationV1Api(client);
+        V1RoleRef roleRef = new V1RoleRef();
+        roleRef.setKind(CLUSTER_ROLE);
+        roleRef.setName(clusterRole);
+        roleRef.setApiGroup(API_GROUP);
+        V1ClusterRoleBinding existing = readIfExists(() -> api.readClusterRoleBinding(name, null));
+        if (null != existing) {
+            if (!isSameRole(existing.getRoleRef(), roleRef)) {
+                LOGGER.debug("Cluster role binding {} points to another role, recreating it", name);
+                api.deleteClusterRoleBinding(name, null, null, null, null, null, null);
+            } else if (!isSameSubjects(existing.getSubjects(), subjects)) {
+                LOGGER.debug("Updating the subjects of cluster role binding {}", name);
+                existing.setSubjects(subjects);
+                return api.replaceClusterRoleBinding(name, existing, null, null, null);
+            } else {
+                return existing;
+            }
+        }
+        V1ClusterRoleBinding binding = new V1ClusterRoleBinding();
+        binding.setApiVersion(API_VERSION);
+        binding.setKind(CLUSTER_ROLE_BINDING);
+        V1ObjectMeta metadata = new V1ObjectMeta();
+        metadata.setName(name);
+        binding.setMetadata(metadata);
+        binding.setSubjects(subjects);
+        binding.setRoleRef(roleRef);
+        LOGGER.debug("Creating cluster role binding {}", name);
+        V1ClusterRoleBinding created = createIfAbsent(() -> api.createClusterRoleBinding(binding, null, null, null));
+        return null != created ? created : readClusterRoleBinding(client, name);
+    }
+
+    /**
+     * Reads a cluster role binding by name.
+     *
+     * @param client the api client
+     * @param name   the binding name
+     * @return the binding, or null if it does not exist
+     * @throws ApiException the api exception
+     */
+    public V1ClusterRoleBinding readClusterRoleBinding(ApiClient client, String name) throws ApiException {
+        RbacAuthorizationV1Api api = new RbacAuthorizationV1Api(client);
+        return readIfExists(() -> api.readClusterRoleBinding(name, null));
+    }
+
+    /**
+     * Reads a secret by name.
+     *
+     * @param client    the api client
+     * @param namespace the namespace
+     * @param name      the secret name
+     * @return the secret, or null if it does not exist
+     * @throws ApiException the api exception
+     */
+    public V1Secret readSecret(ApiClient client, String namespace, String name) throws ApiException {
+        CoreV1Api api = new CoreV1Api(client);
+        return readIfExists(() -> api.readNamespacedSecret(name, namespace, null, null, null));
+    }
+
+    /**
+     * Reads an object by name.
+     *
+     * @param <T>  the object type
+     * @param read the read call
+     * @return the object, or null if it does not exist
+     * @throws ApiException the api exception
+     */
+    public <T> T readIfExists(ApiCall<T> read) throws ApiException {
+        try {
+            return read.call();
+        } catch (ApiException e) {
+            if (HttpStatus.NOT_FOUND.value() == e.getCode()) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an object, tolerating that a concurrent reconcile created it
+     * first.
+     *
+     * @param <T>    the object type
+     * @param create the create call
+     * @return the created object, or null if it already existed
+     * @throws ApiException the api exception
+     */
+    private <T> T createIfAbsent(ApiCall<T> create) throws ApiException {
+        try {
+            return create.call();
+        } catch (ApiException e) {
+            if (HttpStatus.CONFLICT.value() == e.getCode()) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isTokenSecretOf(V1Secret secret, String serviceAccountName) {
+        return null != secret && K8_SERVICE_ACCOUNT_TOKEN_TYPE.equals(secret.getType()) && null != secret.getMetadata().getAnnotations()
+                && serviceAccountName.equals(secret.getMetadata().getAnnotations().get(K8_SERVCE_ACCOUNT_NAME));
+    }
+
+    private boolean hasToken(V1Secret secret) {
+        return null != secret && null != secret.getData() && null != secret.getData().get(TOKEN);
+    }
+
+    private boolean isSameRole(V1RoleRef existing, V1RoleRef desired) {
+        return null != existing && Objects.equals(existing.getKind(), desired.getKind()) && Objects.equals(existing.getName(), desired.getName())
+                && Objects.equals(existing.getApiGroup(), desired.getApiGroup());
+    }
+
+    private boolean isSameSubjects(List<V1Subject> existing, List<V1Subject> desired) {
+        if (null == existing) {
+            return desired.isEmpty();
+        }
+        return toSubjectKeys(existing).equals(toSubjectKeys(desired));
+    }
+
+    private Set<String> toSubjectKeys(List<V1Subject> subjects) {
+        return subjects.stream().map(subject -> subject.getKind() + "/" + subject.getNamespace() + "/" + subject.getName()).collect(Collectors.toSet());
+    }
+
+    /**
+     * A kubernetes api call.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface ApiCall<T> {
+
+        /**
+         * Calls the api.
+         *
+         * @return the result
+         * @throws ApiException the api exception
+         */
+        T call() throws ApiException;
+    }
+}
@@ -17,7 +17,6 @@ import static com.opsera.integrator.argo.resources.Constants.CLUSTER_NAME;
 import static com.opsera.integrator.argo.resources.Constants.CUSTOMER_CLUSTER_INFO_MISSING;
 import static com.opsera.integrator.argo.resources.Constants.NAMESPACE_OPSERA;
 import static com.opsera.integrator.argo.resources.Constants.OPSERA_USER;
-import static com.opsera.integrator.argo.resources.Constants.V1;
 import static com.opsera.integrator.argo.resources.Constants.VAULT_CLUSTER_TOKEN;
 import static com.opsera.integrator.argo.resources.Constants.VAULT_CLUSTER_URL;
 
@@ -26,10 +25,12 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -62,6 +63,7 @@ import com.opsera.integrator.argo.resources.CreateClusterRequest;
 import com.opsera.integrator.argo.resources.CreateProjectRequest;
 import com.opsera.integrator.argo.resources.CreateRepositoryRequest;
 import com.opsera.integrator.argo.resources.Project;
+import com.opsera.integrator.argo.resources.RolloutInstallation;
 import com.opsera.integrator.argo.resources.TLSClientConfig;
 import com.opsera.integrator.argo.resources.ToolConfig;
 import com.opsera.integrator.argo.resources.ToolDetails;
@@ -70,12 +72,6 @@ import com.opsera.kubernetes.helper.exception.KubernetesHelperException;
 import com.opsera.kubernetes.helper.listener.KubernetesLogListener;
 
 import io.kubernetes.client.openapi.ApiClient;
-import io.kubernetes.client.openapi.Configuration;
-import io.kubernetes.client.openapi.apis.CoreV1Api;
-import io.kubernetes.client.openapi.models.V1Namespace;
-import io.kubernetes.client.openapi.models.V1NamespaceList;
-import io.kubernetes.client.openapi.models.V1ObjectMeta;
-import io.kubernetes.client.util.Config;
 
 /**
  * The Class RequestBuilder.
@@ -211,24 +207,12 @@ public class RequestBuilder {
             if (AWS.equalsIgnoreCase(request.getPlatform().toUpperCase())) {
                 AwsClusterDetails awsClusterDetails = serviceFactory.getConfigCollector().getAWSEKSClusterDetails(request.getPlatformToolId(), request.getCustomerId(), request.getClusterName());
                 String eksToken = serviceFactory.getConfigCollector().getAWSEKSClusterToken(request);
-                client = Config.fromToken(awsClusterDetails.getCluster().getEndpoint(), eksToken, false);
+                client = serviceFactory.getKubernetesClientPool().getClient(awsClusterDetails.getCluster().getEndpoint(), eksToken);
             } else if (AZURE.equalsIgnoreCase(request.getPlatform().toUpperCase())) {
                 AzureClusterDetails azureClusterDetails = serviceFactory.getConfigCollector().getAKSClusterDetails(request);
-                client = Config.fromToken(azureClusterDetails.getServer(), azureClusterDetails.getBearerToken(), false);
-            }
-            Configuration.setDefaultApiClient(client);
-            CoreV1Api api = new CoreV1Api();
-            V1Namespace v1Namespace = new V1Namespace();
-            v1Namespace.setApiVersion(V1);
-            v1Namespace.setKind("Namespace");
-            V1ObjectMeta nameSpacemeta = new V1ObjectMeta();
-            nameSpacemeta.setName(request.getNamespace());
-            v1Namespace.setMetadata(nameSpacemeta);
-            V1NamespaceList v1NamespaceList = api.listNamespace(null, null, null, null, null, null, null, null, null, null);
-            boolean isNamespaceExists = v1NamespaceList.getItems().stream().anyMatch(applicationMetadata -> applicationMetadata.getMetadata().getName().equals(request.getNamespace()));
-            if (!isNamespaceExists) {
-                api.createNamespace(v1Namespace, null, null, null);
+                client = serviceFactory.getKubernetesClientPool().getClient(azureClusterDetails.getServer(), azureClusterDetails.getBearerToken());
             }
+            serviceFactory.getKubernetesResourceReconciler().ensureNamespace(client, request.getNamespace(), Collections.emptyMap());
         } catch (Exception e) {
             throw new ArgoServiceException(String.format("Exception occured while creating namespace. message: %s", e.getMessage()));
         }
@@ -352,7 +336,16 @@ public class RequestBuilder {
         return namespaceResourceWhitelist;
     }
     
-    public void execKubectlOnPod(CreateCluster request) throws ResourcesNotAvailable, IOException, KubernetesHelperException {
+    /**
+     * Queues the argo rollouts installation of the cluster. A request for a
+     * cluster that is already being installed joins that installation.
+     *
+     * @param request the request
+     * @return the installation status
+     * @throws ResourcesNotAvailable the resources not available
+     * @throws IOException           Signals that an I/O exception has occurred.
+     */
+    public RolloutInstallation execKubectlOnPod(CreateCluster request) throws ResourcesNotAvailable, IOException {
         String parentId = serviceFactory.getConfigCollector().getParentId(request.getCustomerId());
         Map<String, String> vaultData = serviceFactory.getVaultHelper().getSecrets(parentId, Arrays.asList(VAULT_CLUSTER_URL, VAULT_CLUSTER_TOKEN), null);
         String url = vaultData.get(VAULT_CLUSTER_URL);
@@ -364,17 +357,12 @@ public class RequestBuilder {
         Map<String, String> envVar = new HashMap<>();
         List<String> commands = getCommands(config, request, envVar);
         LOGGER.info("commands: \n {}", commands);
-        LOGGER.info("Starting to create kubernetes pod on the customer data plane");
-        CompletableFuture.runAsync(() -> {
-            try {
-                processKubctlPodHandler(request, url, token, envVar, commands);
-            } catch (KubernetesHelperException e) {
-                e.printStackTrace();
-            }
-        });
+        LOGGER.info("Queueing the kubernetes pod creation on the customer data plane");
+        return serviceFactory.getRolloutInstallerQueue().submit(request, logHandler -> processKubctlPodHandler(request, url, token, envVar, commands, logHandler));
     }
 
-    private void processKubctlPodHandler(CreateCluster request, String url, String token, Map<String, String> envVar, List<String> commands) throws KubernetesHelperException {
+    private void processKubctlPodHandler(CreateCluster request, String url, String token, Map<String, String> envVar, List<String> commands, Consumer<String> logHandler)
+            throws KubernetesHelperException {
         KubernetesPodHandler handler = new KubernetesPodHandler(url, token, request.getClusterName(), request.getArgoToolId(), 0);
         try {
             if (AWS.equalsIgnoreCase(request.getPlatform())) {
@@ -382,25 +370,44 @@ public class RequestBuilder {
             } else if (AZURE.equalsIgnoreCase(request.getPlatform())) {
                 handler.createJob("mcr.microsoft.com/azure-cli:latest", commands, envVar);
             }
-            String logs = podLogs(handler);
-            LOGGER.debug("Argo Rollouts pod logs: \n{}", logs);
+            podLogs(handler, logHandler);
         } catch (Exception e) {
             handler.terminatePod();
             throw new ArgoServiceException(String.format("Exception occured while argo rollouts controller installation. message: %s", e.getMessage()));
         }
     }
 
-    private String podLogs(KubernetesPodHandler handler) throws KubernetesHelperException {
+    /**
+     * Streams the logs of the installer pod until it completes.
+     *
+     * @param handler    the pod handler
+     * @param logHandler called with every log line
+     * @throws KubernetesHelperException the kubernetes helper exception
+     * @throws ArgoServiceException      if the pod completed with a non zero
+     *                                   code
+     */
+    private void podLogs(KubernetesPodHandler handler, Consumer<String> logHandler) throws KubernetesHelperException {
+        AtomicReference<String> failure = new AtomicReference<>();
         KubernetesLogListener listener = new KubernetesLogListener() {
             @Override
             public void processCompleted(String arg0, int arg1, String arg2) {
+                LOGGER.debug("Argo rollouts installer pod completed. {} {} {}", arg0, arg1, arg2);
+                if (arg1 != 0) {
+                    failure.set(String.format("Argo rollouts installer pod completed with code %d. %s", arg1, null == arg2 ? "" : arg2));
+                }
             }
 
             @Override
             public void onLogData(String arg0) {
+                if (null != arg0) {
+                    logHandler.accept(arg0);
+                }
             }
         };
-        return handler.streamJobLogs(listener, 1);
+        handler.streamJobLogs(listener, 1);
+        if (null != failure.get()) {
+            throw new ArgoServiceException(failure.get());
+        }
     }
 
     private List<String> getCommands(ArgoToolDetails config, CreateCluster request, Map<String, String> envVar) throws IOException {
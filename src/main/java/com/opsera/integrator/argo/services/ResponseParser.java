@@ -1,13 +1,23 @@
 package com.opsera.integrator.argo.services;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.gson.reflect.TypeToken;
 import com.opsera.integrator.argo.config.IServiceFactory;
 import com.opsera.integrator.argo.resources.ArgoApplicationItem;
+import com.opsera.integrator.argo.resources.ArgoApplicationMetadata;
+import com.opsera.integrator.argo.resources.ArgoApplicationMetadataList;
 import com.opsera.integrator.argo.resources.ArgoApplicationsList;
 import com.opsera.integrator.argo.resources.ArgoClusterItem;
 import com.opsera.integrator.argo.resources.ArgoClusterList;
@@ -23,6 +33,9 @@ import com.opsera.integrator.argo.resources.ToolConfig;
 @Component
 public class ResponseParser {
 
+    /** The field holding the items of the argo list responses. */
+    private static final String LIST_ITEMS_FIELD = "items";
+
     /** The service factory. */
     @Autowired
     private IServiceFactory serviceFactory;
@@ -75,6 +88,66 @@ public class ResponseParser {
         return serviceFactory.gson().fromJson(response, type);
     }
 
+    /**
+     * Extracts the metadata of the items of an argo application or project
+     * list response while it is read.
+     *
+     * @param response the response stream
+     * @return the argo application metadata list
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public ArgoApplicationMetadataList extractArgoApplicationMetadataList(InputStream response) throws IOException {
+        return new ArgoApplicationMetadataList(extractListItemField(response, "metadata", ArgoApplicationMetadata.class));
+    }
+
+    /**
+     * Streams the items of an argo list response and only materializes the
+     * given field of each item. The rest of the response is skipped token by
+     * token, so the heap holds the projected fields and not the full list.
+     *
+     * @param <T>       the field type
+     * @param response  the response stream
+     * @param fieldName the item field to extract
+     * @param type      the field type
+     * @return the field of every item, in list order
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public <T> List<T> extractListItemField(InputStream response, String fieldName, Class<T> type) throws IOException {
+        ObjectReader reader = serviceFactory.getObjectMapper().readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        List<T> values = new ArrayList<>();
+        try (JsonParser parser = serviceFactory.getObjectMapper().getFactory().createParser(response)) {
+            if (JsonToken.START_OBJECT != parser.nextToken()) {
+                return values;
+            }
+            while (JsonToken.FIELD_NAME == parser.nextToken()) {
+                String listField = parser.getCurrentName();
+                if (JsonToken.START_ARRAY != parser.nextToken() || !LIST_ITEMS_FIELD.equals(listField)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonToken itemToken;
+                while (JsonToken.END_ARRAY != (itemToken = parser.nextToken())) {
+                    if (JsonToken.START_OBJECT != itemToken) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    T value = null;
+                    while (JsonToken.FIELD_NAME == parser.nextToken()) {
+                        String itemField = parser.getCurrentName();
+                        parser.nextToken();
+                        if (fieldName.equals(itemField)) {
+                            value = reader.readValue(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    values.add(value);
+                }
+            }
+        }
+        return values;
+    }
+
     /**
      * extractArgoClustersList.
      *
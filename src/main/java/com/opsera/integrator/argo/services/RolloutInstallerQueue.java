@@ -0,0 +1,250 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.exceptions.ArgoServiceException;
+import com.opsera.integrator.argo.resources.CreateCluster;
+import com.opsera.integrator.argo.resources.RolloutInstallation;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Runs the argo rollouts installer jobs on a bounded pool of their own. There
+ * is at most one job per cluster: a request for a cluster that is already
+ * being installed joins the running job instead of starting another one. The
+ * installer logs are kept per job, so the progress of an installation can be
+ * followed through its status, which stays available for a while after the
+ * job completed.
+ */
+@Component
+public class RolloutInstallerQueue {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(RolloutInstallerQueue.class);
+
+    public static final String STATUS_QUEUED = "QUEUED";
+
+    public static final String STATUS_RUNNING = "RUNNING";
+
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+
+    public static final String STATUS_FAILED = "FAILED";
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** The number of installer jobs running at once. */
+    @Value("${argo.rollout.installer.threads}")
+    private int threads;
+
+    /** The number of installer jobs that can wait for a thread. */
+    @Value("${argo.rollout.installer.queueCapacity}")
+    private int queueCapacity;
+
+    /** The number of log lines kept per job. */
+    @Value("${argo.rollout.installer.maxLogLines}")
+    private int maxLogLines;
+
+    /** How long the status of a completed job is kept. */
+    @Value("${argo.rollout.installer.retainCompletedSeconds}")
+    private long retainCompletedSeconds;
+
+    /** The installer executor. */
+    private ThreadPoolExecutor executor;
+
+    /** The queued and running jobs. */
+    private final Map<ClusterKey, InstallerJob> activeJobs = new ConcurrentHashMap<>();
+
+    /** The completed jobs. */
+    private Cache<ClusterKey, InstallerJob> completedJobs;
+
+    /**
+     * The installation run by a job.
+     */
+    @FunctionalInterface
+    public interface Installer {
+
+        /**
+         * Installs argo rollouts on the cluster.
+         *
+         * @param logHandler receives the installer log lines
+         * @throws Exception the exception
+         */
+        void install(Consumer<String> logHandler) throws Exception;
+    }
+
+    /**
+     * Inits the executor.
+     */
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("RolloutInstaller-"));
+        executor.allowCoreThreadTimeOut(true);
+        completedJobs = Caffeine.newBuilder().expireAfterWrite(retainCompletedSeconds, TimeUnit.SECONDS).build();
+        serviceFactory.getArgoMetrics().monitorExecutor(executor, "rolloutInstallerExecutor");
+        serviceFactory.getArgoMetrics().gauge("argo.rollout.installer.active", activeJobs, Map::size);
+    }
+
+    /**
+     * Stops taking new jobs, the running ones are not interrupted.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queues the installation of the cluster, or joins the installation that
+     * is already queued or running for it.
+     *
+     * @param request   the cluster request
+     * @param installer the installer
+     * @return the installation status, joined tells if an existing job was
+     *         joined or a new one was queued
+     */
+    public RolloutInstallation submit(CreateCluster request, Installer installer) {
+        ClusterKey key = buildKey(request.getCustomerId(), request.getPlatformToolId(), request.getClusterName());
+        InstallerJob newJob = new InstallerJob(request);
+        InstallerJob job = activeJobs.putIfAbsent(key, newJob);
+        if (null != job) {
+            RolloutInstallation installation = job.snapshot();
+            installation.setJoined(true);
+            LOGGER.info("Argo rollouts installation for cluster {} is already {}, joining it", request.getClusterName(), installation.getStatus());
+            return installation;
+        }
+        try {
+            executor.execute(() -> run(key, newJob, installer));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(key, newJob);
+            throw new ArgoServiceException("Too many argo rollouts installations are queued, please retry later", HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+        LOGGER.info("Queued argo rollouts installation for cluster {}", request.getClusterName());
+        RolloutInstallation installation = newJob.snapshot();
+        installation.setJoined(false);
+        return installation;
+    }
+
+    /**
+     * Gets the latest installation of the cluster.
+     *
+     * @param customerId     the customer id
+     * @param platformToolId the platform tool id
+     * @param clusterName    the cluster name
+     * @return the installation status, or null if there is none
+     */
+    public RolloutInstallation getInstallation(String customerId, String platformToolId, String clusterName) {
+        ClusterKey key = buildKey(customerId, platformToolId, clusterName);
+        InstallerJob job = activeJobs.get(key);
+        if (null == job) {
+            job = completedJobs.getIfPresent(key);
+        }
+        return null == job ? null : job.snapshot();
+    }
+
+    private void run(ClusterKey key, InstallerJob job, Installer installer) {
+        job.started();
+        try {
+            installer.install(job::appendLog);
+            job.completed(STATUS_SUCCEEDED, "Argo rollouts installed successfully");
+            LOGGER.info("Completed argo rollouts installation for cluster {}", key.clusterName);
+        } catch (Exception e) {
+            LOGGER.error("Argo rollouts installation for cluster {} failed. message: {}", key.clusterName, e.getMessage());
+            job.completed(STATUS_FAILED, e.getMessage());
+        } finally {
+            completedJobs.put(key, job);
+            activeJobs.remove(key, job);
+        }
+    }
+
+    private ClusterKey buildKey(String customerId, String platformToolId, String clusterName) {
+        return new ClusterKey(customerId, platformToolId, clusterName);
+    }
+
+    /**
+     * The cluster key.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class ClusterKey {
+
+        private final String customerId;
+
+        private final String platformToolId;
+
+        private final String clusterName;
+    }
+
+    /**
+     * The state of an installer job.
+     */
+    private final class InstallerJob {
+
+        private final RolloutInstallation installation = new RolloutInstallation();
+
+        private final Deque<String> logs = new ArrayDeque<>();
+
+        private InstallerJob(CreateCluster request) {
+            installation.setCustomerId(request.getCustomerId());
+            installation.setPlatformToolId(request.getPlatformToolId());
+            installation.setClusterName(request.getClusterName());
+            installation.setPlatform(request.getPlatform());
+            installation.setStatus(STATUS_QUEUED);
+            installation.setQueuedAt(System.currentTimeMillis());
+        }
+
+        private synchronized void started() {
+            installation.setStatus(STATUS_RUNNING);
+            installation.setStartedAt(System.currentTimeMillis());
+        }
+
+        private synchronized void completed(String status, String message) {
+            installation.setStatus(status);
+            installation.setMessage(message);
+            installation.setCompletedAt(System.currentTimeMillis());
+        }
+
+        private synchronized void appendLog(String data) {
+            for (String line : data.split("\\r?\\n")) {
+                LOGGER.debug("Argo rollouts installer [{}]: {}", installation.getClusterName(), line);
+                logs.addLast(line);
+                if (logs.size() > maxLogLines) {
+                    logs.removeFirst();
+                }
+                installation.setLogLineCount(installation.getLogLineCount() + 1);
+            }
+        }
+
+        private synchronized RolloutInstallation snapshot() {
+            RolloutInstallation snapshot = new RolloutInstallation();
+            BeanUtils.copyProperties(installation, snapshot);
+            snapshot.setLogs(new ArrayList<>(logs));
+            return snapshot;
+        }
+    }
+}
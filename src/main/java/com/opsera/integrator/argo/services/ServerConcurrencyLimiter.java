@@ -0,0 +1,156 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of tasks running at once against a single argo server
+ * without holding pool threads. A task over the cap waits in the bounded
+ * queue of its server and is only handed to the executor once a task of the
+ * same server completed, so a busy server never keeps the tasks of other
+ * servers from running. A server without running or waiting tasks is
+ * forgotten.
+ */
+final class ServerConcurrencyLimiter {
+
+    /** The executor the tasks run on. */
+    private final Executor executor;
+
+    /** The max number of running tasks per server. */
+    private final int maxConcurrentPerServer;
+
+    /** The max number of waiting tasks per server. */
+    private final int maxWaitingPerServer;
+
+    /** The running and waiting tasks of each server. */
+    private final Map<String, ServerQueue> servers = new ConcurrentHashMap<>();
+
+    ServerConcurrencyLimiter(Executor executor, int maxConcurrentPerServer, int maxWaitingPerServer) {
+        this.executor = executor;
+        this.maxConcurrentPerServer = maxConcurrentPerServer;
+        this.maxWaitingPerServer = maxWaitingPerServer;
+    }
+
+    /**
+     * Runs the task once the server has a free slot. The future fails with a
+     * {@link RejectedExecutionException} when the queue of the server or the
+     * executor is full.
+     *
+     * @param <T>    the result type
+     * @param server the server
+     * @param task   the task
+     * @return the future of the task result
+     */
+    <T> CompletableFuture<T> submit(String server, Supplier<T> task) {
+        while (true) {
+            ServerQueue queue = servers.computeIfAbsent(server, ServerQueue::new);
+            Job<T> job = new Job<>(queue, task);
+            synchronized (queue) {
+                if (queue.removed) {
+                    continue;
+                }
+                if (queue.running >= maxConcurrentPerServer) {
+                    if (queue.waiting.size() >= maxWaitingPerServer) {
+                        job.future.completeExceptionally(new RejectedExecutionException(String.format("%d tasks are already waiting for %s", maxWaitingPerServer, server)));
+                    } else {
+                        queue.waiting.addLast(job);
+                    }
+                    return job.future;
+                }
+                queue.running++;
+            }
+            dispatch(job);
+            return job.future;
+        }
+    }
+
+    /**
+     * Gets the number of tasks waiting for a free slot over all servers.
+     *
+     * @return the waiting task count
+     */
+    int getWaitingCount() {
+        int waiting = 0;
+        for (ServerQueue queue : servers.values()) {
+            synchronized (queue) {
+                waiting += queue.waiting.size();
+            }
+        }
+        return waiting;
+    }
+
+    private void dispatch(Job<?> job) {
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            job.future.completeExceptionally(e);
+            release(job.queue);
+        }
+    }
+
+    private void release(ServerQueue queue) {
+        Job<?> next;
+        synchronized (queue) {
+            next = queue.waiting.pollFirst();
+            if (null == next && --queue.running == 0) {
+                queue.removed = true;
+                servers.remove(queue.server, queue);
+            }
+        }
+        if (null != next) {
+            dispatch(next);
+        }
+    }
+
+    /**
+     * The running and waiting tasks of a server.
+     */
+    private static final class ServerQueue {
+
+        private final String server;
+
+        private final Deque<Job<?>> waiting = new ArrayDeque<>();
+
+        private int running;
+
+        private boolean removed;
+
+        private ServerQueue(String server) {
+            this.server = server;
+        }
+    }
+
+    /**
+     * A task and its future.
+     */
+    private final class Job<T> implements Runnable {
+
+        private final ServerQueue queue;
+
+        private final Supplier<T> task;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Job(ServerQueue queue, Supplier<T> task) {
+            this.queue = queue;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(task.get());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            } finally {
+                release(queue);
+            }
+        }
+    }
+}
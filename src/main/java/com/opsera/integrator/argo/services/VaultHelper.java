@@ -3,8 +3,8 @@ package com.opsera.integrator.argo.services;
 import static com.opsera.integrator.argo.resources.Constants.VAULT_READ;
 import static com.opsera.integrator.argo.resources.Constants.VAULT_READ_ENDPOINT;
 
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,30 +40,23 @@ public class VaultHelper {
     private AppConfig appConfig;
 
     /**
-     * This method used to get the argo credentials from vault.
+     * This method used to get the argo credentials from vault, served from the
+     * secret cache when present.
      *
      * @param customerId the customer id
      * @param vaultKey   the vault key
      * @return the argo password
      */
     public String getArgoPassword(String customerId, String vaultKey) {
-        RestTemplate restTemplate = serviceFactory.getRestTemplate();
-        String readURL = appConfig.getVaultBaseUrl() + VAULT_READ_ENDPOINT;
-        VaultRequest request = VaultRequest.builder().customerId(customerId).componentKeys(Collections.singletonList(vaultKey)).build();
-
-        VaultData response = restTemplate.postForObject(readURL, request, VaultData.class);
+        return serviceFactory.getVaultSecretCache().get(VAULT_READ_ENDPOINT, customerId, null, vaultKey, () -> readArgoPassword(customerId, vaultKey));
+    }
 
-        Optional<VaultData> vaultData = Optional.ofNullable(response);
-        if (vaultData.isPresent()) {
-            return new String(Base64.getDecoder().decode(response.getData().get(vaultKey).getBytes()));
-        } else {
-            LOGGER.info("Empty response from vault for request: {}", request);
-            throw new InternalServiceException(String.format("SonarAuthToken Not found in Vault for CustomerID: %s", customerId));
-        }
+    private String readArgoPassword(String customerId, String vaultKey) {
+        return serviceFactory.getVaultReadBatcher().read(customerId, null, vaultKey);
     }
 
     /**
-     * Gets the secret.
+     * Gets the secret, served from the secret cache when present.
      *
      * @param customerId the customer id
      * @param secretKey  the secret key
@@ -71,20 +64,52 @@ public class VaultHelper {
      * @return the secret
      */
     public String getSecret(String customerId, String secretKey, String vaultId) {
-        RestTemplate restTemplate = serviceFactory.getRestTemplate();
-        String readURL = appConfig.getVaultBaseUrl() + VAULT_READ;
-        VaultRequest request = VaultRequest.builder().customerId(customerId).vaultId(vaultId).componentKeys(Collections.singletonList(secretKey)).build();
-        LOGGER.info("Request to Vault: {}", request);
-        VaultData response = restTemplate.postForObject(readURL, request, VaultData.class);
-        Optional<VaultData> vaultData = Optional.ofNullable(response);
-        if (vaultData.isPresent()) {
-            return new String(Base64.getDecoder().decode(response.getData().get(secretKey).getBytes()));
-        } else {
-            throw new InternalServiceException(String.format("GitCredential Not found in Vault for CustomerID: %s", customerId));
-        }
+        return serviceFactory.getVaultSecretCache().get(VAULT_READ, customerId, vaultId, secretKey, () -> readSecret(customerId, secretKey, vaultId));
     }
 
+    private String readSecret(String customerId, String secretKey, String vaultId) {
+        return serviceFactory.getVaultReadBatcher().read(customerId, vaultId, secretKey);
+    }
+
+    /**
+     * Gets the secrets. Only the secrets that are not cached are read from
+     * vault, in a single request.
+     *
+     * @param customerId the customer id
+     * @param secretKeys the secret keys
+     * @param vaultId    the vault id
+     * @return the secrets by key
+     */
     public Map<String, String> getSecrets(String customerId, List<String> secretKeys, String vaultId) {
+        VaultSecretCache secretCache = serviceFactory.getVaultSecretCache();
+        Map<String, String> secrets = new LinkedHashMap<>();
+        List<String> missingKeys = new ArrayList<>();
+        for (String secretKey : secretKeys) {
+            String secret = secretCache.getIfPresent(VAULT_READ, customerId, vaultId, secretKey);
+            if (null == secret) {
+                missingKeys.add(secretKey);
+            } else {
+                secrets.put(secretKey, secret);
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            readSecrets(customerId, missingKeys, vaultId).forEach((secretKey, secret) -> {
+                secretCache.put(VAULT_READ, customerId, vaultId, secretKey, secret);
+                secrets.put(secretKey, secret);
+            });
+        }
+        return secrets;
+    }
+
+    /**
+     * Reads the secrets from vault, bypassing the cache.
+     *
+     * @param customerId the customer id
+     * @param secretKeys the secret keys
+     * @param vaultId    the vault id
+     * @return the secrets by key
+     */
+    public Map<String, String> readSecrets(String customerId, List<String> secretKeys, String vaultId) {
         RestTemplate restTemplate = serviceFactory.getRestTemplate();
         String readURL = appConfig.getVaultBaseUrl() + VAULT_READ;
         VaultRequest request = VaultRequest.builder().customerId(customerId).vaultId(vaultId).componentKeys(secretKeys).build();
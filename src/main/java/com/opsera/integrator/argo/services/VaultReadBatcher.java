@@ -0,0 +1,153 @@
+package com.opsera.integrator.argo.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.exceptions.InternalServiceException;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Coalesces the vault reads of the same customer and vault that arrive within
+ * a short window into a single vault request. The first caller of a batch
+ * waits for the window to pass, reads all the collected keys at once and
+ * hands the secrets back to the other callers.
+ */
+@Component
+public class VaultReadBatcher {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(VaultReadBatcher.class);
+
+    /** The service factory. */
+    @Autowired
+    private IServiceFactory serviceFactory;
+
+    /** How long a batch collects keys before it is read. */
+    @Value("${vault.batch.windowMillis}")
+    private long windowMillis;
+
+    /** The number of keys that sends a batch before the window is over. */
+    @Value("${vault.batch.maxSize}")
+    private int maxBatchSize;
+
+    /** The batches collecting keys. */
+    private final Map<BatchKey, Batch> openBatches = new ConcurrentHashMap<>();
+
+    /**
+     * Reads the secret from vault as part of a batch.
+     *
+     * @param customerId the customer id
+     * @param vaultId    the vault id
+     * @param secretKey  the secret key
+     * @return the secret
+     */
+    public String read(String customerId, String vaultId, String secretKey) {
+        BatchKey batchKey = new BatchKey(customerId, vaultId);
+        CompletableFuture<String> future;
+        boolean leader;
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(batchKey, key -> new Batch());
+            synchronized (batch) {
+                if (batch.closed) {
+                    continue;
+                }
+                future = batch.futures.computeIfAbsent(secretKey, key -> new CompletableFuture<>());
+                leader = !batch.hasLeader;
+                batch.hasLeader = true;
+                if (batch.futures.size() >= maxBatchSize) {
+                    batch.notifyAll();
+                }
+            }
+            if (leader) {
+                send(batchKey, batch);
+            }
+            break;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the batch window, closes the batch and reads its keys.
+     *
+     * @param batchKey the batch key
+     * @param batch    the batch
+     */
+    private void send(BatchKey batchKey, Batch batch) {
+        Map<String, CompletableFuture<String>> futures;
+        synchronized (batch) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+            long remaining = deadline - System.nanoTime();
+            while (batch.futures.size() < maxBatchSize && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(batch, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+            openBatches.remove(batchKey, batch);
+            batch.closed = true;
+            futures = new LinkedHashMap<>(batch.futures);
+        }
+        LOGGER.debug("Reading {} secrets from vault in one request for customerId {}", futures.size(), batchKey.customerId);
+        try {
+            Map<String, String> secrets = serviceFactory.getVaultHelper().readSecrets(batchKey.customerId, new ArrayList<>(futures.keySet()), batchKey.vaultId);
+            futures.forEach((secretKey, future) -> {
+                String secret = secrets.get(secretKey);
+                if (null == secret) {
+                    future.completeExceptionally(new InternalServiceException(String.format("Secret Not found in Vault for CustomerID: %s", batchKey.customerId)));
+                } else {
+                    future.complete(secret);
+                }
+            });
+        } catch (RuntimeException e) {
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * The batch key.
+     */
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class BatchKey {
+
+        private final String customerId;
+
+        private final String vaultId;
+    }
+
+    /**
+     * The keys collected for a vault request.
+     */
+    private static final class Batch {
+
+        private final Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+
+        private boolean hasLeader;
+
+        private boolean closed;
+    }
+}
@@ -0,0 +1,230 @@
+package com.opsera.integrator.argo.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.opsera.integrator.argo.exceptions.InternalServiceException;
+import com.opsera.integrator.argo.resources.CacheStatistics;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Short lived cache of the secrets read from vault. The secrets are kept AES
+ * GCM encrypted with a key that is generated on startup and never leaves the
+ * process, so they do not sit in the heap as plain strings.
+ */
+@Component
+public class VaultSecretCache {
+
+    /** The Constant LOGGER. */
+    public static final Logger LOGGER = LoggerFactory.getLogger(VaultSecretCache.class);
+
+    private static final String CIPHER_TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final int GCM_TAG_LENGTH_BITS = 128;
+
+    /** The max number of cached secrets. */
+    @Value("${vault.cache.maxSize}")
+    private long maxSize;
+
+    /** How long secrets are cached. */
+    @Value("${vault.cache.ttlSeconds}")
+    private long ttlSeconds;
+
+    /** The secret cache. */
+    private Cache<SecretCacheKey, EncryptedSecret> secretCache;
+
+    /** The key the cached secrets are encrypted with. */
+    private SecretKey encryptionKey;
+
+    /** The secure random. */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Inits the cache and the encryption key.
+     *
+     * @throws GeneralSecurityException the general security exception
+     */
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256, secureRandom);
+        encryptionKey = keyGenerator.generateKey();
+        secretCache = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlSeconds, TimeUnit.SECONDS).recordStats().build();
+    }
+
+    /**
+     * Returns the cached secret or reads it through the given loader.
+     * Concurrent reads of the same secret share one loader call.
+     *
+     * @param source     the vault endpoint the secret is read from
+     * @param customerId the customer id
+     * @param vaultId    the vault id
+     * @param secretKey  the secret key
+     * @param loader     the loader
+     * @return the secret
+     */
+    public String get(String source, String customerId, String vaultId, String secretKey, Supplier<String> loader) {
+        EncryptedSecret secret = secretCache.get(new SecretCacheKey(source, customerId, vaultId, secretKey), key -> {
+            LOGGER.debug("Vault secret cache miss for customerId {} and key {}", customerId, secretKey);
+            String value = loader.get();
+            return null == value ? null : encrypt(value);
+        });
+        return null == secret ? null : decrypt(secret);
+    }
+
+    /**
+     * Returns the cached secret, or null if it is not cached.
+     *
+     * @param source     the vault endpoint the secret is read from
+     * @param customerId the customer id
+     * @param vaultId    the vault id
+     * @param secretKey  the secret key
+     * @return the secret
+     */
+    public String getIfPresent(String source, String customerId, String vaultId, String secretKey) {
+        EncryptedSecret secret = secretCache.getIfPresent(new SecretCacheKey(source, customerId, vaultId, secretKey));
+        return null == secret ? null : decrypt(secret);
+    }
+
+    /**
+     * Caches the secret.
+     *
+     * @param source     the vault endpoint the secret is read from
+     * @param customerId the customer id
+     * @param vaultId    the vault id
+     * @param secretKey  the secret key
+     * @param value      the value
+     */
+    public void put(String source, String customerId, String vaultId, String secretKey, String value) {
+        if (null != value) {
+            secretCache.put(new SecretCacheKey(source, customerId, vaultId, secretKey), encrypt(value));
+        }
+    }
+
+    /**
+     * Evicts the given secret from all sources.
+     *
+     * @param customerId the customer id
+     * @param secretKey  the secret key
+     */
+    public void evict(String customerId, String secretKey) {
+        secretCache.asMap().keySet().removeIf(key -> Objects.equals(customerId, key.getCustomerId()) && Objects.equals(secretKey, key.getSecretKey()));
+    }
+
+    /**
+     * Evicts all the secrets of the customer.
+     *
+     * @param customerId the customer id
+     */
+    public void evictCustomer(String customerId) {
+        secretCache.asMap().keySet().removeIf(key -> Objects.equals(customerId, key.getCustomerId()));
+    }
+
+    /**
+     * Evicts all the secrets.
+     */
+    public void evictAll() {
+        secretCache.invalidateAll();
+    }
+
+    /**
+     * Gets the hit/miss statistics of the cache.
+     *
+     * @return the statistics
+     */
+    public CacheStatistics getStatistics() {
+        CacheStats stats = secretCache.stats();
+        CacheStatistics statistics = new CacheStatistics();
+        statistics.setSize(secretCache.estimatedSize());
+        statistics.setHitCount(stats.hitCount());
+        statistics.setMissCount(stats.missCount());
+        statistics.setHitRate(stats.hitRate());
+        statistics.setLoadFailureCount(stats.loadFailureCount());
+        statistics.setEvictionCount(stats.evictionCount());
+        return statistics;
+    }
+
+    private EncryptedSecret encrypt(String value) {
+        byte[] plainText = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] iv = new byte[GCM_IV_LENGTH];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
+            return new EncryptedSecret(iv, cipher.doFinal(plainText));
+        } catch (GeneralSecurityException e) {
+            throw new InternalServiceException("Unable to encrypt the vault secret for caching");
+        } finally {
+            Arrays.fill(plainText, (byte) 0);
+        }
+    }
+
+    private String decrypt(EncryptedSecret secret) {
+        byte[] plainText = null;
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, secret.getIv()));
+            plainText = cipher.doFinal(secret.getCipherText());
+            return new String(plainText, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new InternalServiceException("Unable to decrypt the cached vault secret");
+        } finally {
+            if (null != plainText) {
+                Arrays.fill(plainText, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * The cache key.
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static final class SecretCacheKey {
+
+        private final String source;
+
+        private final String customerId;
+
+        private final String vaultId;
+
+        private final String secretKey;
+    }
+
+    /**
+     * The encrypted secret.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class EncryptedSecret {
+
+        private final byte[] iv;
+
+        private final byte[] cipherText;
+    }
+}
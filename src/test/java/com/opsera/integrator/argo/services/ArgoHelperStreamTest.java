@@ -0,0 +1,135 @@
+package com.opsera.integrator.argo.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.google.gson.Gson;
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.resources.ArgoApplicationItem;
+import com.opsera.integrator.argo.resources.ToolConfig;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ArgoHelperStreamTest {
+
+    @Mock
+    private IServiceFactory serviceFactory;
+
+    @Mock
+    private ArgoSessionTokenCache argoSessionTokenCache;
+
+    @InjectMocks
+    private ArgoHelper argoHelper;
+
+    private ArgoStreamStandInServer server;
+
+    private ToolConfig toolConfig;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new ArgoStreamStandInServer();
+        server.start();
+        toolConfig = new ToolConfig();
+        toolConfig.setToolURL(server.getUrl());
+        ReflectionTestUtils.setField(argoHelper, "argoStreamRestTemplate", new RestTemplate(new HttpComponentsClientHttpRequestFactory()));
+        when(serviceFactory.gson()).thenReturn(new Gson());
+        when(serviceFactory.getArgoSessionTokenCache()).thenReturn(argoSessionTokenCache);
+        when(argoSessionTokenCache.getToken(any(), any(), any())).thenReturn("stream-token");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test(timeout = 10000)
+    public void testWatchApplicationsReadsAllEvents() {
+        server.addEvent("demo", "Running", "2021-01-01T10:00:00Z");
+        server.addEvent("other", "Running", "2021-01-01T10:00:01Z");
+        server.addEvent("demo", "Succeeded", "2021-01-01T10:00:00Z");
+        List<ArgoApplicationItem> received = new ArrayList<>();
+
+        argoHelper.watchApplications(toolConfig, "password", null, received::add);
+
+        assertEquals(3, received.size());
+        assertEquals("other", received.get(1).getMetadata().getName());
+        assertEquals("Succeeded", received.get(2).getStatus().getOperationState().getPhase());
+        assertEquals("Bearer stream-token", server.getLastAuthorization());
+    }
+
+    @Test(timeout = 10000)
+    public void testWatchApplicationsProjectsFieldsAndProject() {
+        server.addEvent("demo", "Succeeded", "2021-01-01T10:00:00Z");
+        List<ArgoApplicationItem> received = new ArrayList<>();
+
+        argoHelper.watchApplications(toolConfig, "password", "team-a", received::add);
+
+        assertEquals(1, received.size());
+        assertTrue(server.getLastQuery().contains("fields=result.type,result.application.metadata.name,result.application.status.operationState"));
+        assertTrue(server.getLastQuery().contains("projects=team-a"));
+    }
+
+    @Test(timeout = 10000)
+    public void testWatchApplicationsStopsWhenHandlerDeclines() {
+        server.setHoldOpen(true);
+        server.addEvent("demo", "Running", "2021-01-01T10:00:00Z");
+        server.addEvent("demo", "Succeeded", "2021-01-01T10:00:00Z");
+        List<ArgoApplicationItem> received = new ArrayList<>();
+
+        argoHelper.watchApplications(toolConfig, "password", null, applicationItem -> {
+            received.add(applicationItem);
+            return false;
+        });
+
+        assertEquals(1, received.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testWatchApplicationsAbortedFromAnotherThread() throws Exception {
+        server.setHoldOpen(true);
+        server.addEvent("demo", "Running", "2021-01-01T10:00:00Z");
+        CountDownLatch received = new CountDownLatch(1);
+        AtomicReference<Runnable> abort = new AtomicReference<>();
+
+        CompletableFuture<Void> watch = CompletableFuture.runAsync(() -> argoHelper.watchApplications(toolConfig, "password", null, applicationItem -> {
+            received.countDown();
+            return true;
+        }, abort::set));
+        received.await();
+        abort.get().run();
+
+        watch.handle((result, e) -> null).get();
+        assertTrue(watch.isDone());
+    }
+
+    @Test(timeout = 10000)
+    public void testWatchApplicationsRetriesWithNewTokenOnUnauthorized() {
+        server.rejectNextRequests(1);
+        server.addEvent("demo", "Succeeded", "2021-01-01T10:00:00Z");
+        List<ArgoApplicationItem> received = new ArrayList<>();
+
+        argoHelper.watchApplications(toolConfig, "password", null, received::add);
+
+        verify(argoSessionTokenCache).invalidate(toolConfig, "password");
+        assertEquals(1, received.size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.opsera.integrator.argo.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the argo application event stream. It answers
+ * /api/v1/stream/applications with the configured server sent events and
+ * either closes the stream or keeps it open until stopped.
+ */
+public class ArgoStreamStandInServer {
+
+    private final HttpServer server;
+
+    private final List<String> events = new ArrayList<>();
+
+    private final CountDownLatch stopLatch = new CountDownLatch(1);
+
+    private final AtomicInteger unauthorizedResponses = new AtomicInteger();
+
+    private volatile boolean holdOpen;
+
+    private volatile String lastAuthorization;
+
+    private volatile String lastQuery;
+
+    public ArgoStreamStandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/stream/applications", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        stopLatch.countDown();
+        server.stop(0);
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String getLastAuthorization() {
+        return lastAuthorization;
+    }
+
+    public String getLastQuery() {
+        return lastQuery;
+    }
+
+    public void setHoldOpen(boolean holdOpen) {
+        this.holdOpen = holdOpen;
+    }
+
+    public void rejectNextRequests(int count) {
+        unauthorizedResponses.set(count);
+    }
+
+    public void addEvent(String applicationName, String phase, String startedAt) {
+        events.add(String.format("{\"result\":{\"type\":\"MODIFIED\",\"application\":{\"metadata\":{\"name\":\"%s\"},\"status\":{\"operationState\":{\"phase\":\"%s\",\"startedAt\":\"%s\"}}}}}",
+                applicationName, phase, startedAt));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+        lastQuery = exchange.getRequestURI().getQuery();
+        if (unauthorizedResponses.getAndDecrement() > 0) {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            for (String event : events) {
+                body.write(("data: " + event + "\n\n").getBytes(StandardCharsets.UTF_8));
+                body.flush();
+            }
+            if (holdOpen) {
+                stopLatch.await(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.opsera.integrator.argo.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opsera.integrator.argo.config.IServiceFactory;
+import com.opsera.integrator.argo.resources.ArgoApplicationMetadata;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ResponseParserTest {
+
+    @Mock
+    private IServiceFactory serviceFactory;
+
+    @InjectMocks
+    private ResponseParser responseParser;
+
+    @Before
+    public void setUp() {
+        when(serviceFactory.getObjectMapper()).thenReturn(new ObjectMapper());
+    }
+
+    @Test
+    public void testExtractListItemFieldAfterOtherListFields() throws IOException {
+        List<ArgoApplicationMetadata> metadata = extract("{\"metadata\":{\"resourceVersion\":\"42\",\"labels\":{\"a\":\"b\"}},"
+                + "\"kind\":\"ApplicationList\",\"items\":[{\"metadata\":{\"name\":\"demo\",\"uid\":\"1\"}},{\"metadata\":{\"name\":\"other\"}}]}");
+
+        assertEquals(2, metadata.size());
+        assertEquals("demo", metadata.get(0).getName());
+        assertEquals("1", metadata.get(0).getUid());
+        assertEquals("other", metadata.get(1).getName());
+    }
+
+    @Test
+    public void testExtractListItemFieldSkipsTheRestOfTheItem() throws IOException {
+        List<ArgoApplicationMetadata> metadata = extract("{\"items\":[{\"spec\":{\"source\":{\"helm\":{\"valueFiles\":[\"a.yaml\",[\"b.yaml\"]]}}},"
+                + "\"metadata\":{\"name\":\"demo\",\"unknown\":[1,[2,3]]},\"status\":{\"history\":[{\"id\":1},{\"id\":2}]}}]}");
+
+        assertEquals(1, metadata.size());
+        assertEquals("demo", metadata.get(0).getName());
+    }
+
+    @Test
+    public void testExtractListItemFieldWithMissingField() throws IOException {
+        List<ArgoApplicationMetadata> metadata = extract("{\"items\":[{\"spec\":{}},{\"metadata\":null},{\"metadata\":{\"name\":\"demo\"}}]}");
+
+        assertEquals(3, metadata.size());
+        assertNull(metadata.get(0));
+        assertNull(metadata.get(1));
+        assertEquals("demo", metadata.get(2).getName());
+    }
+
+    @Test
+    public void testExtractListItemFieldSkipsNonObjectItems() throws IOException {
+        List<ArgoApplicationMetadata> metadata = extract("{\"items\":[null,\"demo\",1,[{\"metadata\":{\"name\":\"nested\"}}],{\"metadata\":{\"name\":\"demo\"}}]}");
+
+        assertEquals(1, metadata.size());
+        assertEquals("demo", metadata.get(0).getName());
+    }
+
+    @Test
+    public void testExtractListItemFieldWithNullItems() throws IOException {
+        assertTrue(extract("{\"metadata\":{},\"items\":null}").isEmpty());
+    }
+
+    @Test
+    public void testExtractListItemFieldWithEmptyItems() throws IOException {
+        assertTrue(extract("{\"items\":[]}").isEmpty());
+        assertTrue(extract("{\"metadata\":{}}").isEmpty());
+        assertTrue(extract("null").isEmpty());
+    }
+
+    private List<ArgoApplicationMetadata> extract(String json) throws IOException {
+        return responseParser.extractListItemField(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "metadata", ArgoApplicationMetadata.class);
+    }
+}